@@ -0,0 +1,64 @@
+package be.haex.puzzle;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times reading, parsing and solving a day apart. The solve benchmarks run on a model parsed once
+ * during setup, and {@link #parseModel()} parses that model again from its input; days that read and
+ * interpret their input themselves do not go through {@link Puzzle#parsePuzzleInput}, so for them parsing
+ * stays part of the solve.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public abstract class PuzzleBenchmark {
+
+	private Puzzle<?> puzzle;
+	private ParsedInputCache parsedInputs;
+
+	protected abstract Puzzle<?> createPuzzle();
+
+	protected abstract String inputFileName();
+
+	@Setup
+	public void setUp() {
+		puzzle = createPuzzle();
+		parsedInputs = new ParsedInputCache(16);
+
+		ParsedInputCache.with(parsedInputs, () -> List.of(puzzle.solvePartOne(), puzzle.solvePartTwo()));
+	}
+
+	@Benchmark
+	public List<String> readInputLines() {
+		return puzzle.readContentOfInputFile(inputFileName());
+	}
+
+	@Benchmark
+	public PuzzleInput mapInput() {
+		return puzzle.readPuzzleInput(inputFileName());
+	}
+
+	@Benchmark
+	public List<Object> parseModel() {
+		return parsedInputs.parseAgain();
+	}
+
+	@Benchmark
+	public Object solvePartOne() {
+		return ParsedInputCache.with(parsedInputs, puzzle::solvePartOne);
+	}
+
+	@Benchmark
+	public Object solvePartTwo() {
+		return ParsedInputCache.with(parsedInputs, puzzle::solvePartTwo);
+	}
+}
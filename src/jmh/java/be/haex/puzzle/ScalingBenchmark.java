@@ -0,0 +1,51 @@
+package be.haex.puzzle;
+
+import be.haex.puzzle.generator.InputGenerators;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solves generated inputs of growing size, so runtime can be plotted against the size factor of
+ * each generator. Narrow it down with e.g. {@code -p day=17 -p size=100,200,400,800}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ScalingBenchmark {
+
+	@Param({"5", "10", "14", "16", "17", "19", "21", "22", "23", "24"})
+	private int day;
+
+	@Param({"25", "50", "100", "200"})
+	private int size;
+
+	@Param({"2023"})
+	private long seed;
+
+	private Puzzle<?> puzzle;
+	private PuzzleInput input;
+
+	@Setup
+	public void setUp() {
+		puzzle = PuzzleRegistry.standard().load(day);
+		input = InputGenerators.forDay(day).generate(seed, size);
+	}
+
+	@Benchmark
+	public Object solvePartOne() {
+		return PuzzleInputOverride.with(input, puzzle::solvePartOne);
+	}
+
+	@Benchmark
+	public Object solvePartTwo() {
+		return PuzzleInputOverride.with(input, puzzle::solvePartTwo);
+	}
+}
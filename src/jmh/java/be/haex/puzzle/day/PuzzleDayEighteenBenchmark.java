@@ -0,0 +1,17 @@
+package be.haex.puzzle.day;
+
+import be.haex.puzzle.Puzzle;
+import be.haex.puzzle.PuzzleBenchmark;
+
+public class PuzzleDayEighteenBenchmark extends PuzzleBenchmark {
+
+	@Override
+	protected Puzzle<?> createPuzzle() {
+		return new PuzzleDayEighteen();
+	}
+
+	@Override
+	protected String inputFileName() {
+		return "puzzleDayEighteen.txt";
+	}
+}
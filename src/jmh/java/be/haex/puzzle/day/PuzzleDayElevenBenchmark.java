@@ -0,0 +1,17 @@
+package be.haex.puzzle.day;
+
+import be.haex.puzzle.Puzzle;
+import be.haex.puzzle.PuzzleBenchmark;
+
+public class PuzzleDayElevenBenchmark extends PuzzleBenchmark {
+
+	@Override
+	protected Puzzle<?> createPuzzle() {
+		return new PuzzleDayEleven();
+	}
+
+	@Override
+	protected String inputFileName() {
+		return "puzzleDayEleven.txt";
+	}
+}
@@ -0,0 +1,39 @@
+package be.haex.puzzle.day;
+
+import be.haex.puzzle.Puzzle;
+import be.haex.puzzle.PuzzleBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.SplittableRandom;
+
+public class PuzzleDayFiveBenchmark extends PuzzleBenchmark {
+
+	private PuzzleDayFive.SeedToLocation seedToLocation;
+	private long[] seeds;
+	private long[] locations;
+
+	@Override
+	protected Puzzle<?> createPuzzle() {
+		return new PuzzleDayFive();
+	}
+
+	@Override
+	protected String inputFileName() {
+		return "puzzleDayFive.txt";
+	}
+
+	@Setup
+	public void setUpSeeds() {
+		seedToLocation = new PuzzleDayFive().seedToLocation();
+		seeds = new SplittableRandom(5).longs(4096, 0, 4_294_967_296L).toArray();
+		locations = new long[seeds.length];
+	}
+
+	@Benchmark
+	public long[] locateSeeds() {
+		seedToLocation.apply(seeds, locations);
+
+		return locations;
+	}
+}
@@ -0,0 +1,17 @@
+package be.haex.puzzle.day;
+
+import be.haex.puzzle.Puzzle;
+import be.haex.puzzle.PuzzleBenchmark;
+
+public class PuzzleDayFourBenchmark extends PuzzleBenchmark {
+
+	@Override
+	protected Puzzle<?> createPuzzle() {
+		return new PuzzleDayFour();
+	}
+
+	@Override
+	protected String inputFileName() {
+		return "puzzleDayFour.txt";
+	}
+}
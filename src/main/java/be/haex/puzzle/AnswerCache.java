@@ -0,0 +1,347 @@
+package be.haex.puzzle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Persistent answers keyed by day, part, the {@linkplain Puzzle#configuration() configuration} of
+ * the puzzle and the SHA-256 of the input, stored in a memory-mapped
+ * file. The file is split in sets of {@value #WAYS} slots; a key always lands in the same set and
+ * the least recently used slot of that set makes room for a new answer, which bounds the file to
+ * the configured number of entries, so answers for different configurations live side by side.
+ * Every answer also records a digest of the class files of the puzzle that produced it and of the
+ * shared code outside the {@code day} package it may call into, so changing a solver or the grids
+ * and utilities it builds on invalidates its answers.
+ * <p>
+ * Access is synchronised within one JVM; the file is not meant to be shared by concurrent processes.
+ */
+final class AnswerCache implements AutoCloseable {
+
+	private static final int DEFAULT_MAXIMUM_ENTRIES = 4096;
+	private static final int MAGIC = 0x414F4341;
+	private static final int FORMAT = 2;
+	private static final int WAYS = 8;
+	private static final int HEADER_BYTES = 64;
+	private static final int CLOCK_OFFSET = 16;
+	private static final int SLOT_BYTES = 128;
+	private static final int DAY_OFFSET = 0;
+	private static final int PART_OFFSET = 4;
+	private static final int DIGEST_OFFSET = 8;
+	private static final int DIGEST_BYTES = 32;
+	private static final int CONFIGURATION_OFFSET = 40;
+	private static final int VERSION_OFFSET = 48;
+	private static final int LAST_USED_OFFSET = 56;
+	private static final int NANOS_OFFSET = 64;
+	private static final int ANSWER_LENGTH_OFFSET = 72;
+	private static final int ANSWER_OFFSET = 76;
+	private static final int MAXIMUM_ANSWER_BYTES = SLOT_BYTES - ANSWER_OFFSET;
+	private static final String PUZZLE_PACKAGE = "be/haex/puzzle/";
+	private static final String DAY_PACKAGE = PUZZLE_PACKAGE + "day/";
+	private static final ClassValue<Long> SOLVER_VERSIONS = new ClassValue<>() {
+
+		@Override
+		protected Long computeValue(Class<?> type) {
+			return solverVersion(type);
+		}
+	};
+
+	private final FileChannel channel;
+	private final MappedByteBuffer slots;
+	private final int sets;
+
+	private AnswerCache(FileChannel channel, MappedByteBuffer slots, int sets) {
+		this.channel = channel;
+		this.slots = slots;
+		this.sets = sets;
+	}
+
+	static Optional<AnswerCache> open(Options options) throws IOException {
+		var file = options.get("answer-cache");
+		if (file.isEmpty()) {
+			return Optional.empty();
+		}
+
+		return Optional.of(open(Path.of(file.get()), options.getInt("answer-cache-entries", DEFAULT_MAXIMUM_ENTRIES)));
+	}
+
+	static AnswerCache open(Path file, int maximumEntries) throws IOException {
+		if (maximumEntries < WAYS) {
+			throw new IllegalArgumentException("Expected room for at least %d answers, got <%d>!".formatted(WAYS, maximumEntries));
+		}
+
+		var sets = (maximumEntries + WAYS - 1) / WAYS;
+		var size = HEADER_BYTES + (long) sets * WAYS * SLOT_BYTES;
+		var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+		try {
+			var compatible = channel.size() == size && hasHeader(channel, sets);
+			if (!compatible) {
+				channel.truncate(0);
+			}
+
+			var slots = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+			if (!compatible) {
+				slots.putInt(0, MAGIC)
+						.putInt(4, FORMAT)
+						.putInt(8, sets)
+						.putInt(12, WAYS);
+			}
+
+			return new AnswerCache(channel, slots, sets);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private static boolean hasHeader(FileChannel channel, int sets) throws IOException {
+		var header = ByteBuffer.allocate(16);
+		channel.read(header, 0);
+
+		return header.getInt(0) == MAGIC && header.getInt(4) == FORMAT && header.getInt(8) == sets && header.getInt(12) == WAYS;
+	}
+
+	synchronized Optional<Answer> get(int day, Part part, Puzzle<?> puzzle, PuzzleInput input) {
+		var digest = input.sha256Bytes();
+		var version = SOLVER_VERSIONS.get(puzzle.getClass());
+		var slot = find(day, part, configuration(puzzle), digest);
+
+		if (slot < 0 || slots.getLong(slot + VERSION_OFFSET) != version) {
+			return Optional.empty();
+		}
+
+		var length = slots.getInt(slot + ANSWER_LENGTH_OFFSET);
+		if (length < 0 || length > MAXIMUM_ANSWER_BYTES) {
+			return Optional.empty();
+		}
+
+		slots.putLong(slot + LAST_USED_OFFSET, tick());
+
+		var answer = new byte[length];
+		slots.get(slot + ANSWER_OFFSET, answer);
+
+		return Optional.of(new Answer(new String(answer, StandardCharsets.UTF_8), Duration.ofNanos(slots.getLong(slot + NANOS_OFFSET))));
+	}
+
+	synchronized void put(int day, Part part, Puzzle<?> puzzle, PuzzleInput input, Object answer, Duration duration) {
+		var bytes = String.valueOf(answer).getBytes(StandardCharsets.UTF_8);
+		if (bytes.length > MAXIMUM_ANSWER_BYTES) {
+			return;
+		}
+
+		var digest = input.sha256Bytes();
+		var configuration = configuration(puzzle);
+		var slot = find(day, part, configuration, digest);
+		if (slot < 0) {
+			slot = leastRecentlyUsed(set(day, part, configuration, digest));
+		}
+
+		slots.putInt(slot + DAY_OFFSET, day)
+				.putInt(slot + PART_OFFSET, part.ordinal())
+				.put(slot + DIGEST_OFFSET, digest)
+				.putLong(slot + CONFIGURATION_OFFSET, configuration)
+				.putLong(slot + VERSION_OFFSET, SOLVER_VERSIONS.get(puzzle.getClass()))
+				.putLong(slot + LAST_USED_OFFSET, tick())
+				.putLong(slot + NANOS_OFFSET, duration.toNanos())
+				.putInt(slot + ANSWER_LENGTH_OFFSET, bytes.length)
+				.put(slot + ANSWER_OFFSET, bytes);
+	}
+
+	/**
+	 * Solves a part that was not found and stores its answer, but only when the part read exactly the
+	 * input file it is keyed on: the answer of a part that also read, or only read, other files cannot
+	 * be found again by {@code input}. {@code answer} picks the answer and its duration out of a solve,
+	 * or nothing for a solve that should not be kept.
+	 */
+	<S> S solve(int day, Part part, Puzzle<?> puzzle, PuzzleInput input, Supplier<S> solve, Function<S, Optional<Answer>> answer) {
+		var solved = PuzzleInputLog.recording(solve);
+
+		if (solved.fileNames().equals(Set.of(part.inputFileName(puzzle)))) {
+			answer.apply(solved.value())
+					.ifPresent(kept -> put(day, part, puzzle, input, kept.value(), kept.solvedIn()));
+		}
+
+		return solved.value();
+	}
+
+	private int find(int day, Part part, long configuration, byte[] digest) {
+		var set = set(day, part, configuration, digest);
+
+		for (var way = 0; way < WAYS; way++) {
+			var slot = slot(set, way);
+
+			if (slots.getInt(slot + DAY_OFFSET) == day && slots.getInt(slot + PART_OFFSET) == part.ordinal()
+					&& slots.getLong(slot + CONFIGURATION_OFFSET) == configuration && hasDigest(slot, digest)) {
+				return slot;
+			}
+		}
+
+		return -1;
+	}
+
+	private boolean hasDigest(int slot, byte[] digest) {
+		for (var index = 0; index < DIGEST_BYTES; index++) {
+			if (slots.get(slot + DIGEST_OFFSET + index) != digest[index]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private int leastRecentlyUsed(int set) {
+		var leastRecentlyUsed = slot(set, 0);
+
+		for (var way = 1; way < WAYS; way++) {
+			var slot = slot(set, way);
+
+			if (slots.getLong(slot + LAST_USED_OFFSET) < slots.getLong(leastRecentlyUsed + LAST_USED_OFFSET)) {
+				leastRecentlyUsed = slot;
+			}
+		}
+
+		return leastRecentlyUsed;
+	}
+
+	private int set(int day, Part part, long configuration, byte[] digest) {
+		var hash = ByteBuffer.wrap(digest).getInt() ^ (day * 31 + part.ordinal()) ^ Long.hashCode(configuration);
+
+		return Math.floorMod(hash, sets);
+	}
+
+	private static int slot(int set, int way) {
+		return HEADER_BYTES + (set * WAYS + way) * SLOT_BYTES;
+	}
+
+	private long tick() {
+		var clock = slots.getLong(CLOCK_OFFSET) + 1;
+		slots.putLong(CLOCK_OFFSET, clock);
+
+		return clock;
+	}
+
+	/**
+	 * The first 64 bits of the SHA-256 of the configuration, so that configurations only share a slot
+	 * key by a practically impossible accident.
+	 */
+	private static long configuration(Puzzle<?> puzzle) {
+		return ByteBuffer.wrap(sha256().digest(puzzle.configuration().getBytes(StandardCharsets.UTF_8))).getLong();
+	}
+
+	private static long solverVersion(Class<?> puzzle) {
+		var digest = sha256();
+		digest.update(SharedCode.SHA256);
+
+		for (var member : puzzle.getNestMembers()) {
+			try (var classFile = member.getResourceAsStream("/" + member.getName().replace('.', '/') + ".class")) {
+				if (classFile != null) {
+					digest.update(classFile.readAllBytes());
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		return ByteBuffer.wrap(digest.digest()).getLong();
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available on this JVM!", e);
+		}
+	}
+
+	/**
+	 * The digest of every class file of the puzzle packages outside {@code day}, in name order, read
+	 * from the directory or jar this class was loaded from. Puzzles call into the grids, utilities and
+	 * input parsing there, so those belong to the version of every solver.
+	 */
+	private static final class SharedCode {
+
+		private static final byte[] SHA256 = digest();
+
+		private static byte[] digest() {
+			var digest = sha256();
+			var codeSource = AnswerCache.class.getProtectionDomain().getCodeSource();
+			if (codeSource == null) {
+				throw new IllegalStateException("Cannot locate the puzzle classes to version the answer cache!");
+			}
+
+			try {
+				var location = Path.of(codeSource.getLocation().toURI());
+
+				if (Files.isDirectory(location)) {
+					try (var classFiles = Files.walk(location)) {
+						for (var classFile : classFiles.filter(Files::isRegularFile).sorted().toList()) {
+							var name = location.relativize(classFile).toString().replace(location.getFileSystem().getSeparator(), "/");
+
+							if (isShared(name)) {
+								try (var content = Files.newInputStream(classFile)) {
+									update(digest, name, content);
+								}
+							}
+						}
+					}
+				} else {
+					try (var jar = new JarFile(location.toFile())) {
+						for (var entry : jar.stream().filter(entry -> isShared(entry.getName())).sorted(Comparator.comparing(JarEntry::getName)).toList()) {
+							try (var content = jar.getInputStream(entry)) {
+								update(digest, entry.getName(), content);
+							}
+						}
+					}
+				}
+			} catch (URISyntaxException e) {
+				throw new IllegalStateException("Cannot locate the puzzle classes to version the answer cache!", e);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+
+			return digest.digest();
+		}
+
+		private static boolean isShared(String name) {
+			return name.startsWith(PUZZLE_PACKAGE) && !name.startsWith(DAY_PACKAGE) && name.endsWith(".class");
+		}
+
+		private static void update(MessageDigest digest, String name, InputStream content) throws IOException {
+			digest.update(name.getBytes(StandardCharsets.UTF_8));
+			digest.update(content.readAllBytes());
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		slots.force();
+		channel.close();
+	}
+
+	record Answer(String value, Duration solvedIn) {
+
+		@Override
+		public String toString() {
+			return "%s (cached, solved in %s)".formatted(value, solvedIn);
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package be.haex.puzzle;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+record Options(String command, Map<String, String> flags) {
+
+	private static final String FLAG_PREFIX = "--";
+
+	public static Options parse(String[] args) {
+		if (args.length == 0) {
+			throw new IllegalArgumentException("Provide a day of advent 2023 or <all> as first argument!");
+		}
+
+		var flags = new HashMap<String, String>();
+		Arrays.stream(args, 1, args.length)
+				.forEach(arg -> {
+					if (!arg.startsWith(FLAG_PREFIX)) {
+						throw new IllegalArgumentException("Invalid option: %s".formatted(arg));
+					}
+
+					var separatorIndex = arg.indexOf('=');
+					if (separatorIndex < 0) {
+						flags.put(arg.substring(FLAG_PREFIX.length()), "true");
+					} else {
+						flags.put(arg.substring(FLAG_PREFIX.length(), separatorIndex), arg.substring(separatorIndex + 1));
+					}
+				});
+
+		return new Options(args[0], Map.copyOf(flags));
+	}
+
+	public Optional<String> get(String name) {
+		return Optional.ofNullable(flags.get(name));
+	}
+
+	public String get(String name, String defaultValue) {
+		return flags.getOrDefault(name, defaultValue);
+	}
+
+	public int getInt(String name, int defaultValue) {
+		return get(name)
+				.map(Integer::parseInt)
+				.orElse(defaultValue);
+	}
+
+	public Optional<Duration> getDuration(String name) {
+		return get(name)
+				.map(Long::parseLong)
+				.map(Duration::ofMillis);
+	}
+
+	public boolean isEnabled(String name) {
+		return get(name)
+				.map(Boolean::parseBoolean)
+				.orElse(false);
+	}
+}
@@ -0,0 +1,52 @@
+package be.haex.puzzle;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * The time a solve spends in {@link Puzzle#parsePuzzleInput} turning its input into models, so repeated
+ * measurements can report parsing and solving apart. Parses are timed on the solving thread while a
+ * {@link #timing(Supplier)} runs; input a puzzle reads and interprets itself counts as solving.
+ */
+final class ParseTimer {
+
+	private static final ThreadLocal<long[]> CURRENT = new ThreadLocal<>();
+
+	private ParseTimer() {
+	}
+
+	static <T> T parse(Supplier<T> parse) {
+		var nanos = CURRENT.get();
+		if (nanos == null) {
+			return parse.get();
+		}
+
+		var start = System.nanoTime();
+		try {
+			return parse.get();
+		} finally {
+			nanos[0] += System.nanoTime() - start;
+		}
+	}
+
+	static <T> Timed<T> timing(Supplier<T> work) {
+		var previous = CURRENT.get();
+		var nanos = new long[1];
+		CURRENT.set(nanos);
+
+		try {
+			var value = work.get();
+
+			return new Timed<>(value, Duration.ofNanos(nanos[0]));
+		} finally {
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		}
+	}
+
+	record Timed<T>(T value, Duration parsing) {
+	}
+}
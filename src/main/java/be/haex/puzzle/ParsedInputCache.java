@@ -0,0 +1,177 @@
+package be.haex.puzzle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Parsed models keyed by model, file name and input digest, so both parts of a day parse their
+ * input once. The cache is bound to the solving thread, like the {@link SolveBudget}, so
+ * {@link Puzzle#parsePuzzleInput} finds it without puzzles passing it around; without a bound cache every
+ * parse runs. A bound cache also keeps the resource inputs it read, so their digest is computed once;
+ * those are keyed by where the resource lives and when it last changed, so a resource that changes on
+ * disk is read again, and bounded by the same number of entries.
+ */
+final class ParsedInputCache {
+
+	private static final int DEFAULT_MAXIMUM_ENTRIES = 64;
+	private static final ThreadLocal<ParsedInputCache> CURRENT = new ThreadLocal<>();
+
+	private final int maximumEntries;
+	private final Map<Key, Parsed> entries;
+	private final Map<ResourceKey, PuzzleInput> resources;
+
+	ParsedInputCache(int maximumEntries) {
+		this.maximumEntries = maximumEntries;
+		this.entries = leastRecentlyUsed(maximumEntries);
+		this.resources = leastRecentlyUsed(maximumEntries);
+	}
+
+	private static <K, V> Map<K, V> leastRecentlyUsed(int maximumEntries) {
+		return new LinkedHashMap<>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+				return size() > maximumEntries;
+			}
+		};
+	}
+
+	static ParsedInputCache from(Options options) {
+		return new ParsedInputCache(options.getInt("parsed-input-cache-entries", DEFAULT_MAXIMUM_ENTRIES));
+	}
+
+	/**
+	 * An empty cache with the same limit, for a run that should read and parse its input afresh.
+	 */
+	ParsedInputCache emptyCopy() {
+		return new ParsedInputCache(maximumEntries);
+	}
+
+	static Optional<ParsedInputCache> current() {
+		return Optional.ofNullable(CURRENT.get());
+	}
+
+	static <T> T with(ParsedInputCache cache, Supplier<T> work) {
+		var previous = CURRENT.get();
+		CURRENT.set(cache);
+
+		try {
+			return work.get();
+		} finally {
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		}
+	}
+
+	PuzzleInput resource(String fileName, URL location, Supplier<PuzzleInput> reader) {
+		var key = ResourceKey.of(fileName, location);
+
+		synchronized (resources) {
+			var cached = resources.get(key);
+			if (cached != null) {
+				return cached;
+			}
+		}
+
+		var input = reader.get();
+
+		synchronized (resources) {
+			return resources.computeIfAbsent(key, ignore -> input);
+		}
+	}
+
+	<M> M get(Class<M> model, String fileName, PuzzleInput input, Function<PuzzleInput, M> parser) {
+		var key = new Key(model, fileName, input.sha256());
+
+		var cached = lookup(key);
+		if (cached != null) {
+			return model.cast(cached.model());
+		}
+
+		var parsed = new Parsed(parser.apply(input), input, parser);
+
+		synchronized (entries) {
+			return model.cast(entries.computeIfAbsent(key, ignore -> parsed).model());
+		}
+	}
+
+	private Parsed lookup(Key key) {
+		synchronized (entries) {
+			return entries.get(key);
+		}
+	}
+
+	/**
+	 * Parses every cached model again from its input, without changing the cache, so the parsing a
+	 * solve needs can be timed apart from the solve itself.
+	 */
+	List<Object> parseAgain() {
+		List<Parsed> parsed;
+		synchronized (entries) {
+			parsed = List.copyOf(entries.values());
+		}
+
+		return parsed.stream()
+				.map(Parsed::parseAgain)
+				.toList();
+	}
+
+	void evict(String fileName) {
+		synchronized (resources) {
+			resources.keySet().removeIf(key -> key.fileName().equals(fileName));
+		}
+
+		synchronized (entries) {
+			entries.keySet().removeIf(key -> key.fileName().equals(fileName));
+		}
+	}
+
+	void evictAll() {
+		synchronized (resources) {
+			resources.clear();
+		}
+
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	private record Key(Class<?> model, String fileName, String digest) {
+	}
+
+	private record Parsed(Object model, PuzzleInput input, Function<PuzzleInput, ?> parser) {
+
+		public Object parseAgain() {
+			return parser.apply(input);
+		}
+	}
+
+	private record ResourceKey(String fileName, String location, long lastModified, long length) {
+
+		public static ResourceKey of(String fileName, URL location) {
+			try {
+				var connection = location.openConnection();
+
+				return new ResourceKey(fileName, location.toExternalForm(), connection.getLastModified(), connection.getContentLengthLong());
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+}
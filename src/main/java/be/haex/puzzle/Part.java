@@ -0,0 +1,40 @@
+package be.haex.puzzle;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+enum Part {
+	ONE("One", "1", Puzzle::solvePartOne, Puzzle::partOneInputFileName),
+	TWO("Two", "2", Puzzle::solvePartTwo, Puzzle::partTwoInputFileName);
+
+	private final String label;
+	private final String number;
+	private final Function<Puzzle<?>, ?> solver;
+	private final Function<Puzzle<?>, String> inputFileName;
+
+	Part(String label, String number, Function<Puzzle<?>, ?> solver, Function<Puzzle<?>, String> inputFileName) {
+		this.label = label;
+		this.number = number;
+		this.solver = solver;
+		this.inputFileName = inputFileName;
+	}
+
+	public static Part from(String value) {
+		return Arrays.stream(values())
+				.filter(part -> part.number.equals(value) || part.label.equalsIgnoreCase(value))
+				.findFirst()
+				.orElseThrow(() -> new IllegalArgumentException("Unknown part <%s>, expected <1> or <2>!".formatted(value)));
+	}
+
+	public String label() {
+		return label;
+	}
+
+	public Function<Puzzle<?>, ?> solver() {
+		return solver;
+	}
+
+	public String inputFileName(Puzzle<?> puzzle) {
+		return inputFileName.apply(puzzle);
+	}
+}
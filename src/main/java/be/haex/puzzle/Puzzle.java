@@ -1,19 +1,53 @@
 package be.haex.puzzle;
 
+import be.haex.puzzle.jfr.PuzzleParseEvent;
+
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 public interface Puzzle<T> {
 
 	default Stream<String> streamPuzzleInput(String fileName) {
-		return readContentOfInputFile(fileName).stream();
+		PuzzleInputLog.read(fileName);
+		var override = PuzzleInputOverride.current();
+		if (override.isPresent()) {
+			return override.get().linesAsStrings().stream();
+		}
+
+		var resource = getClass().getClassLoader().getResourceAsStream(fileName);
+
+		if (resource == null) {
+			throw new IllegalArgumentException("Cannot read input file for this puzzle!");
+		}
+
+		var bufferedReader = new BufferedReader(new InputStreamReader(resource));
+
+		return bufferedReader.lines()
+				.onClose(() -> {
+					try {
+						bufferedReader.close();
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
 	}
 
 	default List<String> readContentOfInputFile(String fileName) {
+		PuzzleInputLog.read(fileName);
+		var override = PuzzleInputOverride.current();
+		if (override.isPresent()) {
+			return override.get().linesAsStrings();
+		}
+
 		try (var resource = getClass().getClassLoader().getResourceAsStream(fileName);
 			 var resourceReader = new InputStreamReader(Objects.requireNonNull(resource));
 			 var bufferedReader = new BufferedReader(resourceReader)) {
@@ -29,6 +63,92 @@ public interface Puzzle<T> {
 		}
 	}
 
+	default PuzzleInput readPuzzleInput(String fileName) {
+		PuzzleInputLog.read(fileName);
+		var override = PuzzleInputOverride.current();
+		if (override.isPresent()) {
+			return override.get();
+		}
+
+		var resource = getClass().getClassLoader().getResource(fileName);
+		if (resource == null) {
+			throw new IllegalArgumentException("Cannot read input file for this puzzle!");
+		}
+
+		var parsedInputs = ParsedInputCache.current();
+		if (parsedInputs.isPresent()) {
+			return parsedInputs.get().resource(fileName, resource, () -> readResource(resource));
+		}
+
+		return readResource(resource);
+	}
+
+	private static PuzzleInput readResource(URL resource) {
+		try {
+			if ("file".equals(resource.getProtocol())) {
+				return PuzzleInput.map(Path.of(resource.toURI()));
+			}
+
+			try (var inputStream = resource.openStream()) {
+				return PuzzleInput.read(inputStream);
+			}
+		} catch (Exception e) {
+			throw new IllegalArgumentException("Cannot read input file for this puzzle!");
+		}
+	}
+
+	default <M> M parseInput(String fileName, Class<M> model, Function<List<String>, M> parser) {
+		return parsePuzzleInput(fileName, model, input -> parser.apply(input.linesAsStrings()));
+	}
+
+	/**
+	 * Parses the input straight from its bytes, for models that read rows or numbers without decoding
+	 * every line to a {@link String} first.
+	 */
+	default <M> M parsePuzzleInput(String fileName, Class<M> model, Function<PuzzleInput, M> parser) {
+		return ParseTimer.parse(() -> {
+			var input = readPuzzleInput(fileName);
+			Function<PuzzleInput, M> recordedParser = content -> PuzzleParseEvent.record(getClass(), fileName, model, () -> parser.apply(content));
+
+			return ParsedInputCache.current()
+					.map(parsedInputs -> parsedInputs.get(model, fileName, input, recordedParser))
+					.orElseGet(() -> recordedParser.apply(input));
+		});
+	}
+
+	/**
+	 * The resource holding the puzzle input, used to look up answers by the input they are solved for.
+	 * Puzzles that read another file, such as an example through a test constructor, override it or
+	 * the file of one part, as answers are only cached when a part reads exactly this file.
+	 */
+	default String inputFileName() {
+		return "puzzleDay" + getClass().getSimpleName().replaceFirst("^PuzzleDay", "") + ".txt";
+	}
+
+	default String partOneInputFileName() {
+		return inputFileName();
+	}
+
+	default String partTwoInputFileName() {
+		return inputFileName();
+	}
+
+	/**
+	 * Settings that change the answers of this puzzle for the same input, used to key answers by the
+	 * configuration they were solved with.
+	 */
+	default String configuration() {
+		return "";
+	}
+
+	/**
+	 * Marks one unit of work in a long-running loop. Throws a {@link PuzzleTimeoutException} once the
+	 * solve exceeds the time or step budget it runs under, or when its thread was interrupted.
+	 */
+	static void checkpoint() {
+		SolveBudget.checkpoint();
+	}
+
 	T solvePartOne();
 
 	T solvePartTwo();
@@ -0,0 +1,144 @@
+package be.haex.puzzle;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+final class PuzzleBatch {
+
+	private PuzzleBatch() {
+	}
+
+	static void solve(Options options, PuzzleRegistry puzzles, Optional<AnswerCache> answerCache, ParsedInputCache parsedInputs) throws IOException, InterruptedException {
+		solve(options, puzzles, answerCache, parsedInputs, System.out);
+	}
+
+	static void solve(Options options, PuzzleRegistry puzzles, Optional<AnswerCache> answerCache, ParsedInputCache parsedInputs, PrintStream out) throws IOException, InterruptedException {
+		var day = Integer.parseInt(options.get("day").orElseThrow(() -> new IllegalArgumentException("Provide the day to solve with --day=<day>!")));
+		var directory = Path.of(options.get("dir").orElseThrow(() -> new IllegalArgumentException("Provide the input directory with --dir=<directory>!")));
+		var threads = options.getInt("threads", Runtime.getRuntime().availableProcessors());
+		var parts = options.get("part").map(part -> List.of(Part.from(part))).orElse(List.of(Part.values()));
+		var verbose = options.isEnabled("verbose");
+		var budget = SolveBudget.from(options);
+		var puzzle = puzzles.load(day);
+
+		List<Path> inputFiles;
+		try (var files = Files.list(directory)) {
+			inputFiles = files.filter(Files::isRegularFile)
+					.sorted()
+					.toList();
+		}
+
+		out.printf("Advent of Code 2023 --- Day %d batch of %d inputs from %s (%d threads)%n", day, inputFiles.size(), directory, threads);
+
+		var start = System.nanoTime();
+		var results = new ArrayList<Result>();
+		try (var executor = Executors.newWorkStealingPool(threads)) {
+			var futures = inputFiles.stream()
+					.map(inputFile -> executor.submit(() -> ParsedInputCache.with(parsedInputs, () -> solve(day, puzzle, parts, budget, answerCache, inputFile))))
+					.toList();
+
+			for (var future : futures) {
+				results.add(result(future));
+			}
+		}
+		var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+		results.stream()
+				.filter(result -> verbose || !result.succeeded())
+				.forEach(result -> out.println(result.report()));
+
+		report(results, elapsed, out);
+	}
+
+	private static Result solve(int day, Puzzle<?> puzzle, List<Part> parts, Optional<SolveBudget> budget, Optional<AnswerCache> answerCache, Path inputFile) {
+		try {
+			var input = PuzzleInput.map(inputFile);
+
+			var start = System.nanoTime();
+			var answers = PuzzleInputOverride.with(input, () -> parts.stream()
+					.map(part -> "Part %s %s".formatted(part.label(), solve(day, puzzle, part, budget, answerCache, input)))
+					.toList());
+			var latency = Duration.ofNanos(System.nanoTime() - start);
+
+			return new Result(inputFile, answers, latency, null);
+		} catch (IOException | RuntimeException e) {
+			return new Result(inputFile, List.of(), Duration.ZERO, e);
+		}
+	}
+
+	/**
+	 * Solves one part under a budget of its own, like {@link PuzzleSolver} does, so part two does not
+	 * get only what part one left over.
+	 */
+	private static Object solve(int day, Puzzle<?> puzzle, Part part, Optional<SolveBudget> budget, Optional<AnswerCache> answerCache, PuzzleInput input) {
+		var answer = answerCache.flatMap(cache -> cache.get(day, part, puzzle, input));
+		if (answer.isPresent()) {
+			return answer.get();
+		}
+
+		if (answerCache.isEmpty()) {
+			return SolveBudget.with(budget, () -> part.solver().apply(puzzle));
+		}
+
+		return answerCache.get().solve(day, part, puzzle, input, () -> SolveBudget.with(budget, () -> solveTimed(puzzle, part)), Optional::of).value();
+	}
+
+	private static AnswerCache.Answer solveTimed(Puzzle<?> puzzle, Part part) {
+		var start = System.nanoTime();
+		var solution = part.solver().apply(puzzle);
+
+		return new AnswerCache.Answer(String.valueOf(solution), Duration.ofNanos(System.nanoTime() - start));
+	}
+
+	private static Result result(Future<Result> future) throws InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Batch task failed unexpectedly!", e.getCause());
+		}
+	}
+
+	private static void report(List<Result> results, Duration elapsed, PrintStream out) {
+		var solved = results.stream()
+				.filter(Result::succeeded)
+				.toList();
+		var failed = results.size() - solved.size();
+		var throughput = results.size() / Math.max(elapsed.toNanos() / 1_000_000_000d, Double.MIN_VALUE);
+
+		out.printf("Solved %d inputs (%d failed) in %s, %.1f inputs/s%n", solved.size(), failed, elapsed, throughput);
+
+		if (!solved.isEmpty()) {
+			var latencies = solved.stream()
+					.map(Result::latency)
+					.toList();
+			var statistics = TimingStatistics.of(latencies.getFirst(), latencies);
+
+			out.printf("Latency: min %s, median %s, mean %s, p90 %s, p99 %s, stddev %s%n",
+					statistics.minimum(), statistics.median(), statistics.mean(), statistics.p90(), statistics.p99(), statistics.standardDeviation());
+		}
+	}
+
+	private record Result(Path inputFile, List<String> answers, Duration latency, Throwable failure) {
+
+		public boolean succeeded() {
+			return failure == null;
+		}
+
+		public String report() {
+			if (!succeeded()) {
+				return "%s: failed with %s".formatted(inputFile.getFileName(), failure);
+			}
+
+			return "%s: %s (in %s)".formatted(inputFile.getFileName(), String.join(", ", answers), latency);
+		}
+	}
+}
@@ -0,0 +1,183 @@
+package be.haex.puzzle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public final class PuzzleInput {
+
+	private static final byte LINE_FEED = '\n';
+	private static final byte CARRIAGE_RETURN = '\r';
+
+	private final ByteBuffer content;
+	private final int[] lineStarts;
+	private final int[] lineEnds;
+	private volatile byte[] sha256;
+
+	private PuzzleInput(ByteBuffer content) {
+		this.content = content.asReadOnlyBuffer();
+
+		var starts = new int[16];
+		var ends = new int[16];
+		var lines = 0;
+		var start = 0;
+		var limit = this.content.limit();
+		while (start < limit) {
+			var end = start;
+			while (end < limit && this.content.get(end) != LINE_FEED) {
+				end++;
+			}
+
+			if (lines == starts.length) {
+				starts = Arrays.copyOf(starts, lines * 2);
+				ends = Arrays.copyOf(ends, lines * 2);
+			}
+			starts[lines] = start;
+			ends[lines] = end > start && this.content.get(end - 1) == CARRIAGE_RETURN ? end - 1 : end;
+			lines++;
+			start = end + 1;
+		}
+
+		this.lineStarts = Arrays.copyOf(starts, lines);
+		this.lineEnds = Arrays.copyOf(ends, lines);
+	}
+
+	public static PuzzleInput map(Path path) throws IOException {
+		try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return new PuzzleInput(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	public static PuzzleInput read(InputStream inputStream) throws IOException {
+		return new PuzzleInput(ByteBuffer.wrap(inputStream.readAllBytes()));
+	}
+
+	public static PuzzleInput of(byte[] content) {
+		return new PuzzleInput(ByteBuffer.wrap(content));
+	}
+
+	public ByteBuffer bytes() {
+		return content.duplicate();
+	}
+
+	public int lineCount() {
+		return lineStarts.length;
+	}
+
+	public ByteBuffer line(int index) {
+		return content.slice(lineStarts[index], lineEnds[index] - lineStarts[index]);
+	}
+
+	public int lineLength(int index) {
+		return lineEnds[index] - lineStarts[index];
+	}
+
+	public byte byteAt(int line, int column) {
+		return content.get(lineStarts[line] + column);
+	}
+
+	public Stream<ByteBuffer> lines() {
+		return IntStream.range(0, lineCount())
+				.mapToObj(this::line);
+	}
+
+	public String lineAsString(int index) {
+		var bytes = new byte[lineLength(index)];
+		content.get(lineStarts[index], bytes);
+
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	public List<String> linesAsStrings() {
+		return IntStream.range(0, lineCount())
+				.mapToObj(this::lineAsString)
+				.toList();
+	}
+
+	public String sha256() {
+		return HexFormat.of().formatHex(sha256Bytes());
+	}
+
+	/**
+	 * The SHA-256 of the content, computed on first use and kept, as the caches key every lookup on it.
+	 */
+	public byte[] sha256Bytes() {
+		var digest = sha256;
+		if (digest == null) {
+			digest = digest();
+			sha256 = digest;
+		}
+
+		return digest.clone();
+	}
+
+	private byte[] digest() {
+		try {
+			var digest = MessageDigest.getInstance("SHA-256");
+			digest.update(bytes());
+
+			return digest.digest();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available on this JVM!", e);
+		}
+	}
+
+	public static long parseLong(ByteBuffer line, int from, int to) {
+		var negative = line.get(from) == '-';
+		var value = 0L;
+		for (var index = negative ? from + 1 : from; index < to; index++) {
+			value = value * 10 + (line.get(index) - '0');
+		}
+
+		return negative ? -value : value;
+	}
+
+	public static long[] parseLongs(ByteBuffer line) {
+		var values = new long[8];
+		var count = 0;
+		var index = 0;
+		var limit = line.limit();
+		while (index < limit) {
+			while (index < limit && !isNumberStart(line, index)) {
+				index++;
+			}
+			if (index == limit) {
+				break;
+			}
+
+			var end = index + 1;
+			while (end < limit && isDigit(line.get(end))) {
+				end++;
+			}
+
+			if (count == values.length) {
+				values = Arrays.copyOf(values, count * 2);
+			}
+			values[count++] = parseLong(line, index, end);
+			index = end;
+		}
+
+		return Arrays.copyOf(values, count);
+	}
+
+	private static boolean isNumberStart(ByteBuffer line, int index) {
+		var value = line.get(index);
+
+		return isDigit(value) || (value == '-' && index + 1 < line.limit() && isDigit(line.get(index + 1)));
+	}
+
+	private static boolean isDigit(byte value) {
+		return value >= '0' && value <= '9';
+	}
+}
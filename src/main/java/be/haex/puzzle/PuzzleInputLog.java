@@ -0,0 +1,45 @@
+package be.haex.puzzle;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * The resource files a solve reads, so answers are only cached under the input they were actually
+ * solved for. Reads are logged on the solving thread while a {@link #recording(Supplier)} runs, by
+ * the name the puzzle asked for, also when a {@link PuzzleInputOverride} answers the read instead.
+ */
+final class PuzzleInputLog {
+
+	private static final ThreadLocal<Set<String>> CURRENT = new ThreadLocal<>();
+
+	private PuzzleInputLog() {
+	}
+
+	static void read(String fileName) {
+		var fileNames = CURRENT.get();
+
+		if (fileNames != null) {
+			fileNames.add(fileName);
+		}
+	}
+
+	static <T> Recorded<T> recording(Supplier<T> work) {
+		var previous = CURRENT.get();
+		var fileNames = new LinkedHashSet<String>();
+		CURRENT.set(fileNames);
+
+		try {
+			return new Recorded<>(work.get(), Set.copyOf(fileNames));
+		} finally {
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		}
+	}
+
+	record Recorded<T>(T value, Set<String> fileNames) {
+	}
+}
@@ -0,0 +1,31 @@
+package be.haex.puzzle;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+final class PuzzleInputOverride {
+
+	private static final ThreadLocal<PuzzleInput> CURRENT = new ThreadLocal<>();
+
+	private PuzzleInputOverride() {
+	}
+
+	static Optional<PuzzleInput> current() {
+		return Optional.ofNullable(CURRENT.get());
+	}
+
+	static <T> T with(PuzzleInput input, Supplier<T> work) {
+		var previous = CURRENT.get();
+		CURRENT.set(input);
+
+		try {
+			return work.get();
+		} finally {
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package be.haex.puzzle;
+
+import be.haex.puzzle.day.PuzzleDayEight;
+import be.haex.puzzle.day.PuzzleDayEighteen;
+import be.haex.puzzle.day.PuzzleDayEleven;
+import be.haex.puzzle.day.PuzzleDayFifteen;
+import be.haex.puzzle.day.PuzzleDayFive;
+import be.haex.puzzle.day.PuzzleDayFour;
+import be.haex.puzzle.day.PuzzleDayFourteen;
+import be.haex.puzzle.day.PuzzleDayNine;
+import be.haex.puzzle.day.PuzzleDayNineteen;
+import be.haex.puzzle.day.PuzzleDayOne;
+import be.haex.puzzle.day.PuzzleDaySeven;
+import be.haex.puzzle.day.PuzzleDaySeventeen;
+import be.haex.puzzle.day.PuzzleDaySix;
+import be.haex.puzzle.day.PuzzleDaySixteen;
+import be.haex.puzzle.day.PuzzleDayTen;
+import be.haex.puzzle.day.PuzzleDayThirteen;
+import be.haex.puzzle.day.PuzzleDayThree;
+import be.haex.puzzle.day.PuzzleDayTwelve;
+import be.haex.puzzle.day.PuzzleDayTwenty;
+import be.haex.puzzle.day.PuzzleDayTwentyFour;
+import be.haex.puzzle.day.PuzzleDayTwentyOne;
+import be.haex.puzzle.day.PuzzleDayTwentyThree;
+import be.haex.puzzle.day.PuzzleDayTwentyTwo;
+import be.haex.puzzle.day.PuzzleDayTwo;
+import be.haex.puzzle.util.CycleDetection;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+final class PuzzleRegistry {
+
+	private final Map<Integer, Supplier<Puzzle<?>>> suppliers;
+	private final Map<Integer, Puzzle<?>> puzzles = new ConcurrentHashMap<>();
+
+	PuzzleRegistry(Map<Integer, Supplier<Puzzle<?>>> suppliers) {
+		this.suppliers = Map.copyOf(suppliers);
+	}
+
+	static PuzzleRegistry standard() {
+		return standard(new Options("all", Map.of()));
+	}
+
+	/**
+	 * The puzzles of every day, configured by their command line flags such as {@code --unfold=<factor>}
+	 * for day 12 and {@code --cycle-detection=hashed|brent} for day 14.
+	 */
+	static PuzzleRegistry standard(Options options) {
+		return new PuzzleRegistry(Map.ofEntries(
+				Map.entry(1, PuzzleDayOne::new),
+				Map.entry(2, PuzzleDayTwo::new),
+				Map.entry(3, PuzzleDayThree::new),
+				Map.entry(4, PuzzleDayFour::new),
+				Map.entry(5, PuzzleDayFive::new),
+				Map.entry(6, PuzzleDaySix::new),
+				Map.entry(7, PuzzleDaySeven::new),
+				Map.entry(8, PuzzleDayEight::new),
+				Map.entry(9, PuzzleDayNine::new),
+				Map.entry(10, PuzzleDayTen::new),
+				Map.entry(11, PuzzleDayEleven::new),
+				Map.entry(12, () -> new PuzzleDayTwelve(options.getInt("unfold", PuzzleDayTwelve.DEFAULT_UNFOLD_FACTOR))),
+				Map.entry(13, PuzzleDayThirteen::new),
+				Map.entry(14, () -> new PuzzleDayFourteen(CycleDetection.parse(options.get("cycle-detection", "hashed")))),
+				Map.entry(15, PuzzleDayFifteen::new),
+				Map.entry(16, PuzzleDaySixteen::new),
+				Map.entry(17, PuzzleDaySeventeen::new),
+				Map.entry(18, PuzzleDayEighteen::new),
+				Map.entry(19, PuzzleDayNineteen::new),
+				Map.entry(20, PuzzleDayTwenty::new),
+				Map.entry(21, PuzzleDayTwentyOne::new),
+				Map.entry(22, PuzzleDayTwentyTwo::new),
+				Map.entry(23, PuzzleDayTwentyThree::new),
+				Map.entry(24, PuzzleDayTwentyFour::new)
+		));
+	}
+
+	List<Integer> days() {
+		return suppliers.keySet()
+				.stream()
+				.sorted()
+				.toList();
+	}
+
+	Puzzle<?> load(Integer dayOfAdvent) {
+		return puzzles.computeIfAbsent(dayOfAdvent, day -> Optional.ofNullable(suppliers.get(day))
+				.orElseThrow(() -> new IllegalArgumentException("Cannot load puzzle for day <" + day + "> of advent 2023!"))
+				.get());
+	}
+
+	boolean isLoaded(Integer dayOfAdvent) {
+		return puzzles.containsKey(dayOfAdvent);
+	}
+}
@@ -0,0 +1,172 @@
+package be.haex.puzzle;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+final class PuzzleServer implements AutoCloseable {
+
+	private static final int DEFAULT_PORT = 7923;
+	private static final int DEFAULT_MAXIMUM_PAYLOAD_BYTES = 64 * 1024 * 1024;
+
+	private final PuzzleRegistry puzzles;
+	private final ServerSocketChannel channel;
+	private final int maximumPayloadBytes;
+	private final Optional<SolveBudget> budget;
+	private final ParsedInputCache parsedInputs;
+	private final ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor();
+
+	private PuzzleServer(PuzzleRegistry puzzles, ServerSocketChannel channel, int maximumPayloadBytes, Optional<SolveBudget> budget, ParsedInputCache parsedInputs) {
+		this.puzzles = puzzles;
+		this.channel = channel;
+		this.maximumPayloadBytes = maximumPayloadBytes;
+		this.budget = budget;
+		this.parsedInputs = parsedInputs;
+	}
+
+	static void serve(Options options, PuzzleRegistry puzzles, ParsedInputCache parsedInputs) throws IOException {
+		try (var server = open(options, puzzles, parsedInputs)) {
+			System.out.println("Advent of Code 2023 --- Serving puzzles on " + server.localAddress());
+
+			server.run();
+		}
+	}
+
+	static PuzzleServer open(Options options, PuzzleRegistry puzzles, ParsedInputCache parsedInputs) throws IOException {
+		var maximumPayloadBytes = options.getInt("max-payload", DEFAULT_MAXIMUM_PAYLOAD_BYTES);
+		var budget = SolveBudget.from(options);
+		var socket = options.get("socket");
+
+		if (socket.isPresent()) {
+			var path = Path.of(socket.get());
+			Files.deleteIfExists(path);
+
+			var channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+			channel.bind(UnixDomainSocketAddress.of(path));
+
+			return new PuzzleServer(puzzles, channel, maximumPayloadBytes, budget, parsedInputs);
+		}
+
+		var channel = ServerSocketChannel.open();
+		channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), options.getInt("port", DEFAULT_PORT)));
+
+		return new PuzzleServer(puzzles, channel, maximumPayloadBytes, budget, parsedInputs);
+	}
+
+	SocketAddress localAddress() throws IOException {
+		return channel.getLocalAddress();
+	}
+
+	void run() throws IOException {
+		try {
+			while (channel.isOpen()) {
+				var connection = channel.accept();
+
+				connections.submit(() -> handle(connection));
+			}
+		} catch (ClosedChannelException e) {
+			// closed while waiting for the next connection
+		}
+	}
+
+	private Void handle(SocketChannel connection) throws IOException {
+		try (connection;
+			 var input = new BufferedInputStream(Channels.newInputStream(connection));
+			 var output = new BufferedOutputStream(Channels.newOutputStream(connection))) {
+			for (var header = readLine(input); header != null; header = readLine(input)) {
+				respond(header, input, output);
+				output.flush();
+			}
+		}
+
+		return null;
+	}
+
+	private void respond(String header, InputStream input, OutputStream output) throws IOException {
+		try {
+			var request = Request.parse(header, maximumPayloadBytes);
+			var payload = input.readNBytes(request.payloadLength());
+
+			if (payload.length != request.payloadLength()) {
+				throw new IllegalArgumentException("Expected <%d> payload bytes, got <%d>!".formatted(request.payloadLength(), payload.length));
+			}
+
+			var puzzle = puzzles.load(request.day());
+			var start = System.nanoTime();
+			var answer = ParsedInputCache.with(parsedInputs, () -> SolveBudget.with(budget, () -> payload.length == 0
+					? request.part().solver().apply(puzzle)
+					: PuzzleInputOverride.with(PuzzleInput.of(payload), () -> request.part().solver().apply(puzzle))));
+			var elapsed = System.nanoTime() - start;
+
+			write(output, "OK %s %d".formatted(answer, elapsed));
+		} catch (RuntimeException e) {
+			write(output, "ERROR " + String.valueOf(e.getMessage()).replace('\n', ' '));
+		}
+	}
+
+	private static String readLine(InputStream input) throws IOException {
+		var line = new ByteArrayOutputStream();
+
+		for (int value; (value = input.read()) != -1; ) {
+			if (value == '\n') {
+				return line.toString(StandardCharsets.UTF_8).strip();
+			}
+
+			line.write(value);
+		}
+
+		return line.size() == 0 ? null : line.toString(StandardCharsets.UTF_8).strip();
+	}
+
+	private static void write(OutputStream output, String line) throws IOException {
+		output.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Override
+	public void close() throws IOException {
+		var address = channel.getLocalAddress();
+
+		channel.close();
+		connections.shutdownNow();
+
+		if (address instanceof UnixDomainSocketAddress unixAddress) {
+			Files.deleteIfExists(unixAddress.getPath());
+		}
+	}
+
+	private record Request(int day, Part part, int payloadLength) {
+
+		public static Request parse(String header, int maximumPayloadBytes) {
+			var elements = header.split("\\s+");
+
+			if (elements.length < 2 || elements.length > 3) {
+				throw new IllegalArgumentException("Invalid request <%s>, expected <day> <part> [payload length]!".formatted(header));
+			}
+
+			var payloadLength = elements.length == 3 ? Integer.parseInt(elements[2]) : 0;
+			if (payloadLength < 0 || payloadLength > maximumPayloadBytes) {
+				throw new IllegalArgumentException("Payload of <%d> bytes is not accepted!".formatted(payloadLength));
+			}
+
+			return new Request(Integer.parseInt(elements[0]), Part.from(elements[1]), payloadLength);
+		}
+	}
+}
@@ -1,96 +1,335 @@
 package be.haex.puzzle;
 
-import be.haex.puzzle.day.PuzzleDayEight;
-import be.haex.puzzle.day.PuzzleDayEighteen;
-import be.haex.puzzle.day.PuzzleDayEleven;
-import be.haex.puzzle.day.PuzzleDayFifteen;
-import be.haex.puzzle.day.PuzzleDayFive;
-import be.haex.puzzle.day.PuzzleDayFour;
-import be.haex.puzzle.day.PuzzleDayFourteen;
-import be.haex.puzzle.day.PuzzleDayNine;
-import be.haex.puzzle.day.PuzzleDayNineteen;
-import be.haex.puzzle.day.PuzzleDayOne;
-import be.haex.puzzle.day.PuzzleDaySeven;
-import be.haex.puzzle.day.PuzzleDaySeventeen;
-import be.haex.puzzle.day.PuzzleDaySix;
-import be.haex.puzzle.day.PuzzleDaySixteen;
-import be.haex.puzzle.day.PuzzleDayTen;
-import be.haex.puzzle.day.PuzzleDayThirteen;
-import be.haex.puzzle.day.PuzzleDayThree;
-import be.haex.puzzle.day.PuzzleDayTwelve;
-import be.haex.puzzle.day.PuzzleDayTwenty;
-import be.haex.puzzle.day.PuzzleDayTwentyFour;
-import be.haex.puzzle.day.PuzzleDayTwentyOne;
-import be.haex.puzzle.day.PuzzleDayTwentyThree;
-import be.haex.puzzle.day.PuzzleDayTwentyTwo;
-import be.haex.puzzle.day.PuzzleDayTwo;
+import be.haex.puzzle.generator.InputGenerators;
+import be.haex.puzzle.jfr.PuzzleRecording;
+import be.haex.puzzle.jfr.PuzzleSolveEvent;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
-import java.time.Instant;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
-import java.util.function.Function;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
 
 public class PuzzleSolver {
 
-	private static final Map<Integer, Puzzle<?>> PUZZLES;
+	public static void main(String[] args) throws InterruptedException, IOException {
+		var options = Options.parse(args);
+		var puzzles = PuzzleRegistry.standard(options);
+		var parsedInputs = ParsedInputCache.from(options);
+		var timingReport = new TimingReport();
 
-	public static void main(String[] args) {
-		var day = Integer.valueOf(args[0]);
+		var recordingFile = options.get("jfr");
+		var recording = recordingFile.isPresent() ? PuzzleRecording.start(Path.of(recordingFile.get())) : null;
+		try (var answers = AnswerCache.open(options).orElse(null)) {
+			var answerCache = Optional.ofNullable(answers);
 
+			if ("all".equals(options.command())) {
+				solveAll(puzzles, options, answerCache, parsedInputs, timingReport);
+			} else if ("serve".equals(options.command())) {
+				PuzzleServer.serve(options, puzzles, parsedInputs);
+			} else if ("batch".equals(options.command())) {
+				PuzzleBatch.solve(options, puzzles, answerCache, parsedInputs);
+			} else if ("generate".equals(options.command())) {
+				generate(options);
+			} else {
+				solveDay(puzzles, Integer.valueOf(options.command()), options, answerCache, parsedInputs, timingReport);
+			}
+		} finally {
+			if (recording != null) {
+				recording.close();
+			}
+		}
+
+		var reportFile = options.get("report");
+		if (reportFile.isPresent()) {
+			timingReport.write(Path.of(reportFile.get()));
+		}
+	}
+
+	private static void generate(Options options) throws IOException {
+		var day = Integer.parseInt(options.get("day").orElseThrow(() -> new IllegalArgumentException("Provide the day to generate an input for with --day=<day>!")));
+		var input = InputGenerators.forDay(day)
+				.generate(Long.parseLong(options.get("seed", "2023")), options.getInt("size", 100));
+
+		var outputFile = options.get("out");
+		if (outputFile.isPresent()) {
+			try (var channel = FileChannel.open(Path.of(outputFile.get()), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+				channel.write(input.bytes());
+			}
+		} else {
+			System.out.print(StandardCharsets.UTF_8.decode(input.bytes()));
+		}
+	}
+
+	private static void solveDay(PuzzleRegistry puzzles, Integer day, Options options, Optional<AnswerCache> answerCache, ParsedInputCache parsedInputs, TimingReport timingReport) {
 		System.out.println("Advent of Code 2023 --- Day " + day);
 
-		var puzzle = loadPuzzle(day);
-
-		var solutionPartOne = solve(puzzle, Puzzle::solvePartOne);
-		System.out.printf("Your puzzle answer for Part One is %s (in %s)%n", solutionPartOne.value(), solutionPartOne.duration());
-
-		var solutionPartTwo = solve(puzzle, Puzzle::solvePartTwo);
-		System.out.printf("Your puzzle answer for Part Two is %s (in %s)%n", solutionPartTwo.value(), solutionPartTwo.duration());
-	}
-
-	private static Puzzle<?> loadPuzzle(Integer dayOfAdvent) {
-		return Optional.ofNullable(PUZZLES.get(dayOfAdvent))
-				.orElseThrow(() -> new IllegalArgumentException("Cannot load puzzle for day <" + dayOfAdvent + "> of advent 2023!"));
-	}
-
-	private static Solution<?> solve(Puzzle<?> puzzle, Function<Puzzle<?>, ?> solver) {
-		var start = Instant.now();
-		var solution = solver.apply(puzzle);
-		var stop = Instant.now();
-
-		return new Solution<>(solution, Duration.between(start, stop));
-	}
-
-	private record Solution<T>(T value, Duration duration) {
-	}
-
-	static {
-		PUZZLES = Map.ofEntries(
-				Map.entry(1, new PuzzleDayOne()),
-				Map.entry(2, new PuzzleDayTwo()),
-				Map.entry(3, new PuzzleDayThree()),
-				Map.entry(4, new PuzzleDayFour()),
-				Map.entry(5, new PuzzleDayFive()),
-				Map.entry(6, new PuzzleDaySix()),
-				Map.entry(7, new PuzzleDaySeven()),
-				Map.entry(8, new PuzzleDayEight()),
-				Map.entry(9, new PuzzleDayNine()),
-				Map.entry(10, new PuzzleDayTen()),
-				Map.entry(11, new PuzzleDayEleven()),
-				Map.entry(12, new PuzzleDayTwelve()),
-				Map.entry(13, new PuzzleDayThirteen()),
-				Map.entry(14, new PuzzleDayFourteen()),
-				Map.entry(15, new PuzzleDayFifteen()),
-				Map.entry(16, new PuzzleDaySixteen()),
-				Map.entry(17, new PuzzleDaySeventeen()),
-				Map.entry(18, new PuzzleDayEighteen()),
-				Map.entry(19, new PuzzleDayNineteen()),
-				Map.entry(20, new PuzzleDayTwenty()),
-				Map.entry(21, new PuzzleDayTwentyOne()),
-				Map.entry(22, new PuzzleDayTwentyTwo()),
-				Map.entry(23, new PuzzleDayTwentyThree()),
-				Map.entry(24, new PuzzleDayTwentyFour())
-		);
+		var loadStart = System.nanoTime();
+		var puzzle = puzzles.load(day);
+		var loadDuration = Duration.ofNanos(System.nanoTime() - loadStart);
+
+		System.out.printf("Loaded puzzle in %s (JVM uptime %s at first solve)%n", loadDuration, Duration.ofMillis(ManagementFactory.getRuntimeMXBean().getUptime()));
+		var settings = Settings.from(options, answerCache, parsedInputs, false);
+
+		for (var part : Part.values()) {
+			var measurement = measure(day, puzzle, part, settings);
+			var solution = measurement.solution();
+
+			System.out.printf("Your puzzle answer for Part %s is %s (in %s, %s)%n", part.label(), solution.value(), solution.duration(), solution.resourceUsage());
+			measurement.timings()
+					.ifPresent(timings -> {
+						System.out.println(timings.describe(part));
+						timings.addTo(timingReport, day, part);
+					});
+		}
+	}
+
+	private static void solveAll(PuzzleRegistry puzzles, Options options, Optional<AnswerCache> answerCache, ParsedInputCache parsedInputs, TimingReport timingReport) throws InterruptedException {
+		var threads = options.getInt("threads", Runtime.getRuntime().availableProcessors());
+		var permits = new Semaphore(threads);
+		var settings = Settings.from(options, answerCache, parsedInputs, threads > 1);
+
+		System.out.printf("Advent of Code 2023 --- All days (%s executor, %d threads)%n", options.get("executor", "platform"), threads);
+
+		var start = System.nanoTime();
+		try (var executor = createExecutor(options, threads)) {
+			var tasks = puzzles.days()
+					.stream()
+					.flatMap(day -> Stream.of(Part.values())
+							.map(part -> new Task(day, part, executor.submit(() -> measureBounded(day, puzzles.load(day), part, settings, permits)))))
+					.toList();
+
+			for (var task : tasks) {
+				System.out.println(task.report(timingReport));
+			}
+		}
+		var makespan = Duration.ofNanos(System.nanoTime() - start);
+
+		System.out.printf("Solved %d days in %s%n", puzzles.days().size(), makespan);
+	}
+
+	private static ExecutorService createExecutor(Options options, int threads) {
+		return switch (options.get("executor", "platform")) {
+			case "platform" -> Executors.newFixedThreadPool(threads);
+			case "virtual" -> Executors.newVirtualThreadPerTaskExecutor();
+			default ->
+					throw new IllegalArgumentException("Unknown executor <%s>, expected <platform> or <virtual>!".formatted(options.get("executor", "")));
+		};
+	}
+
+	private static Measurement measureBounded(int day, Puzzle<?> puzzle, Part part, Settings settings, Semaphore permits) throws InterruptedException {
+		permits.acquire();
+		try {
+			return measure(day, puzzle, part, settings);
+		} finally {
+			permits.release();
+		}
+	}
+
+	private static Measurement measure(int day, Puzzle<?> puzzle, Part part, Settings settings) {
+		return ParsedInputCache.with(settings.parsedInputs(), () -> measureWithParsedInputs(day, puzzle, part, settings));
+	}
+
+	private static Measurement measureWithParsedInputs(int day, Puzzle<?> puzzle, Part part, Settings settings) {
+		var repetitions = settings.repetitions();
+
+		if (repetitions.isSingleRun() && settings.answerCache().isPresent()) {
+			return new Measurement(solveCached(day, puzzle, part, settings, settings.answerCache().get()), Optional.empty());
+		}
+
+		if (repetitions.isSingleRun()) {
+			return new Measurement(solve(puzzle, part, settings), Optional.empty());
+		}
+
+		var cold = solveRepeatedly(puzzle, part, settings);
+		if (cold.value() instanceof TimedOut) {
+			return new Measurement(cold, Optional.empty());
+		}
+
+		for (var warmup = 1; warmup < repetitions.warmup(); warmup++) {
+			solveRepeatedly(puzzle, part, settings);
+		}
+
+		var solutions = new ArrayList<Solution<?>>();
+		var solution = cold;
+		for (var iteration = repetitions.warmup() > 0 ? 0 : 1; iteration < repetitions.iterations(); iteration++) {
+			solution = solveRepeatedly(puzzle, part, settings);
+			solutions.add(solution);
+		}
+		if (repetitions.warmup() == 0) {
+			solutions.addFirst(cold);
+		}
+
+		return new Measurement(solution, Optional.of(Timings.of(cold, solutions)));
+	}
+
+	/**
+	 * A solve that is one of several runs of a part. Unless parsed inputs are reused, every run reads
+	 * and parses its input into an empty cache, like a single cold run does, rather than measuring
+	 * only the solve after the first run parsed.
+	 */
+	private static Solution<?> solveRepeatedly(Puzzle<?> puzzle, Part part, Settings settings) {
+		if (settings.reuseParsedInputs()) {
+			return solve(puzzle, part, settings);
+		}
+
+		return ParsedInputCache.with(settings.parsedInputs().emptyCopy(), () -> solve(puzzle, part, settings));
+	}
+
+	private static Solution<?> solveCached(int day, Puzzle<?> puzzle, Part part, Settings settings, AnswerCache answerCache) {
+		var resourceUsage = ResourceUsage.sample(!settings.concurrent());
+		var start = System.nanoTime();
+		var input = puzzle.readPuzzleInput(part.inputFileName(puzzle));
+		var answer = answerCache.get(day, part, puzzle, input);
+
+		if (answer.isPresent()) {
+			return new Solution<>(answer.get(), Duration.ofNanos(System.nanoTime() - start), Duration.ZERO, Optional.empty(), resourceUsage.stop());
+		}
+
+		return answerCache.solve(day, part, puzzle, input, () -> solve(puzzle, part, settings), solution -> solution.value() instanceof TimedOut
+				? Optional.empty()
+				: Optional.of(new AnswerCache.Answer(String.valueOf(solution.value()), solution.duration())));
+	}
+
+	private static Solution<?> solve(Puzzle<?> puzzle, Part part, Settings settings) {
+		var resourceUsage = ResourceUsage.sample(!settings.concurrent());
+		var cpuTimeAtStart = currentThreadCpuTime();
+		var start = System.nanoTime();
+		Object solution;
+		var parsing = Duration.ZERO;
+		try {
+			var timed = ParseTimer.timing(() -> SolveBudget.with(settings.budget(), () -> PuzzleSolveEvent.record(puzzle.getClass(), part.label(), () -> part.solver().apply(puzzle))));
+			solution = timed.value();
+			parsing = timed.parsing();
+		} catch (PuzzleTimeoutException e) {
+			solution = new TimedOut(e.getMessage());
+		}
+		var stop = System.nanoTime();
+		var cpuTimeAtStop = currentThreadCpuTime();
+
+		var cpuTime = cpuTimeAtStart.flatMap(begin -> cpuTimeAtStop.map(end -> Duration.ofNanos(end - begin)));
+
+		return new Solution<>(solution, Duration.ofNanos(stop - start), parsing, cpuTime, resourceUsage.stop());
+	}
+
+	private static Optional<Long> currentThreadCpuTime() {
+		var threadMXBean = ManagementFactory.getThreadMXBean();
+
+		if (!threadMXBean.isCurrentThreadCpuTimeSupported()) {
+			return Optional.empty();
+		}
+
+		return Optional.of(threadMXBean.getCurrentThreadCpuTime())
+				.filter(cpuTime -> cpuTime >= 0);
+	}
+
+	/**
+	 * {@code concurrent} is set when several solves share the JVM at the same time, which makes the
+	 * JVM-wide heap pool peaks meaningless for any one of them. {@code reuseParsedInputs} lets repeated
+	 * runs of a part share their parsed input, to time the solve on its own.
+	 */
+	private record Settings(Repetitions repetitions, Optional<SolveBudget> budget, Optional<AnswerCache> answerCache, ParsedInputCache parsedInputs, boolean reuseParsedInputs, boolean concurrent) {
+
+		public static Settings from(Options options, Optional<AnswerCache> answerCache, ParsedInputCache parsedInputs, boolean concurrent) {
+			return new Settings(Repetitions.from(options), SolveBudget.from(options), answerCache, parsedInputs, options.isEnabled("reuse-parsed-inputs"), concurrent);
+		}
+	}
+
+	private record Repetitions(int warmup, int iterations) {
+
+		public static Repetitions from(Options options) {
+			var warmup = options.getInt("warmup", 0);
+			var iterations = options.getInt("iterations", 1);
+
+			if (warmup < 0 || iterations < 1) {
+				throw new IllegalArgumentException("Expected at least one iteration and no negative warmup, got warmup <%d> and iterations <%d>!".formatted(warmup, iterations));
+			}
+
+			return new Repetitions(warmup, iterations);
+		}
+
+		public boolean isSingleRun() {
+			return warmup == 0 && iterations == 1;
+		}
+	}
+
+	private record Task(int day, Part part, Future<Measurement> measurement) {
+
+		public String report(TimingReport timingReport) throws InterruptedException {
+			try {
+				var result = measurement.get();
+				var solution = result.solution();
+
+				result.timings()
+						.ifPresent(timings -> timings.addTo(timingReport, day, part));
+
+				return "Day %2d Part %s: %s (wall %s, cpu %s, %s)%s".formatted(
+						day,
+						part.label(),
+						solution.value(),
+						solution.duration(),
+						solution.cpuTime().map(Duration::toString).orElse("n/a"),
+						solution.resourceUsage(),
+						result.timings().map(timings -> "%n%s".formatted(timings.describe(part))).orElse("")
+				);
+			} catch (ExecutionException e) {
+				return "Day %2d Part %s: failed with %s".formatted(day, part.label(), e.getCause());
+			}
+		}
+	}
+
+	private record Measurement(Solution<?> solution, Optional<Timings> timings) {
+	}
+
+	/**
+	 * The statistics of repeated runs of a part, split in the time spent parsing the input and the time
+	 * spent solving it.
+	 */
+	private record Timings(TimingStatistics parsing, TimingStatistics solving) {
+
+		public static Timings of(Solution<?> cold, List<Solution<?>> solutions) {
+			return new Timings(
+					TimingStatistics.of(cold.parsing(), solutions.stream().map(Solution::parsing).toList()),
+					TimingStatistics.of(cold.solving(), solutions.stream().map(Solution::solving).toList())
+			);
+		}
+
+		public void addTo(TimingReport timingReport, int day, Part part) {
+			timingReport.add(day, part.label(), "parse", parsing);
+			timingReport.add(day, part.label(), "solve", solving);
+		}
+
+		public String describe(Part part) {
+			return "  Parse timing for Part %s: %s%n  Solve timing for Part %s: %s".formatted(part.label(), parsing, part.label(), solving);
+		}
+	}
+
+	/**
+	 * {@code duration} is the whole solve, including the {@code parsing} of its input.
+	 */
+	private record Solution<T>(T value, Duration duration, Duration parsing, Optional<Duration> cpuTime, ResourceUsage resourceUsage) {
+
+		public Duration solving() {
+			return duration.minus(parsing);
+		}
+	}
+
+	private record TimedOut(String reason) {
+
+		@Override
+		public String toString() {
+			return "<timed out: %s>".formatted(reason);
+		}
 	}
 }
@@ -0,0 +1,10 @@
+package be.haex.puzzle;
+
+public class PuzzleTimeoutException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public PuzzleTimeoutException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,91 @@
+package be.haex.puzzle;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * What one solve cost in allocations and garbage collection. Heap pool peaks are JVM-wide and only
+ * reset at the start of a solve, so they are only sampled when no other solve runs concurrently.
+ * They are reported as the sum of the peak of every heap pool; the pools peak at different moments,
+ * so the sum is an upper bound rather than the actual peak heap.
+ */
+record ResourceUsage(Optional<Long> allocatedBytes, long garbageCollections, Duration garbageCollectionTime, Optional<Long> summedHeapPoolPeakBytes) {
+
+	private static final long MEGABYTE = 1024 * 1024;
+
+	public static Sample sample(boolean heapPoolPeaks) {
+		if (heapPoolPeaks) {
+			heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+		}
+
+		return new Sample(currentThreadAllocatedBytes(), totalGarbageCollections(), totalGarbageCollectionMillis(), heapPoolPeaks);
+	}
+
+	private static Optional<Long> currentThreadAllocatedBytes() {
+		if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean
+				&& threadMXBean.isThreadAllocatedMemorySupported()
+				&& threadMXBean.isThreadAllocatedMemoryEnabled()) {
+			return Optional.of(threadMXBean.getCurrentThreadAllocatedBytes())
+					.filter(allocatedBytes -> allocatedBytes >= 0);
+		}
+
+		return Optional.empty();
+	}
+
+	private static long totalGarbageCollections() {
+		return ManagementFactory.getGarbageCollectorMXBeans()
+				.stream()
+				.mapToLong(GarbageCollectorMXBean::getCollectionCount)
+				.filter(count -> count > 0)
+				.sum();
+	}
+
+	private static long totalGarbageCollectionMillis() {
+		return ManagementFactory.getGarbageCollectorMXBeans()
+				.stream()
+				.mapToLong(GarbageCollectorMXBean::getCollectionTime)
+				.filter(time -> time > 0)
+				.sum();
+	}
+
+	private static List<MemoryPoolMXBean> heapPools() {
+		return ManagementFactory.getMemoryPoolMXBeans()
+				.stream()
+				.filter(pool -> pool.getType() == MemoryType.HEAP)
+				.toList();
+	}
+
+	@Override
+	public String toString() {
+		return "allocated %s, %d GCs taking %s%s".formatted(
+				allocatedBytes.map(bytes -> "%.1f MB".formatted((double) bytes / MEGABYTE)).orElse("n/a"),
+				garbageCollections,
+				garbageCollectionTime,
+				summedHeapPoolPeakBytes.map(bytes -> ", heap pool peaks summing to %d MB".formatted(bytes / MEGABYTE)).orElse("")
+		);
+	}
+
+	public record Sample(Optional<Long> allocatedBytes, long garbageCollections, long garbageCollectionMillis, boolean heapPoolPeaks) {
+
+		public ResourceUsage stop() {
+			var allocatedBytesAtStop = currentThreadAllocatedBytes();
+			var summedHeapPoolPeakBytes = heapPoolPeaks
+					? Optional.of(heapPools().stream()
+							.mapToLong(pool -> pool.getPeakUsage().getUsed())
+							.sum())
+					: Optional.<Long>empty();
+
+			return new ResourceUsage(
+					allocatedBytes.flatMap(start -> allocatedBytesAtStop.map(stop -> stop - start)),
+					totalGarbageCollections() - garbageCollections,
+					Duration.ofMillis(totalGarbageCollectionMillis() - garbageCollectionMillis),
+					summedHeapPoolPeakBytes
+			);
+		}
+	}
+}
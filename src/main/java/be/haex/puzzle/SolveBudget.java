@@ -0,0 +1,91 @@
+package be.haex.puzzle;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Supplier;
+
+/**
+ * Time and step limits for one solve, checked cooperatively by the long-running loops of the
+ * puzzles through {@link Puzzle#checkpoint()}. The budget is bound to the solving thread, so
+ * puzzles do not need to pass it around.
+ */
+final class SolveBudget {
+
+	private static final ThreadLocal<SolveBudget> CURRENT = new ThreadLocal<>();
+	private static final int CLOCK_INTERVAL = 1024;
+
+	private final Optional<Duration> timeout;
+	private final OptionalLong maximumSteps;
+	private final long deadline;
+	private long steps;
+
+	private SolveBudget(Optional<Duration> timeout, OptionalLong maximumSteps) {
+		this.timeout = timeout;
+		this.maximumSteps = maximumSteps;
+		this.deadline = System.nanoTime() + timeout.map(Duration::toNanos).orElse(0L);
+	}
+
+	static Optional<SolveBudget> from(Options options) {
+		var timeout = options.getDuration("timeout");
+		var maximumSteps = options.get("max-steps")
+				.map(value -> OptionalLong.of(Long.parseLong(value)))
+				.orElse(OptionalLong.empty());
+
+		if (timeout.isEmpty() && maximumSteps.isEmpty()) {
+			return Optional.empty();
+		}
+
+		return Optional.of(new SolveBudget(timeout, maximumSteps));
+	}
+
+	static <T> T with(Optional<SolveBudget> budget, Supplier<T> work) {
+		if (budget.isEmpty()) {
+			return work.get();
+		}
+
+		var previous = CURRENT.get();
+		CURRENT.set(budget.get().restart());
+
+		try {
+			return work.get();
+		} finally {
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		}
+	}
+
+	static void checkpoint() {
+		var budget = CURRENT.get();
+
+		if (budget != null) {
+			budget.spend();
+		} else if (Thread.currentThread().isInterrupted()) {
+			throw new PuzzleTimeoutException("Solve was cancelled!");
+		}
+	}
+
+	private SolveBudget restart() {
+		return new SolveBudget(timeout, maximumSteps);
+	}
+
+	private void spend() {
+		steps++;
+
+		if (maximumSteps.isPresent() && steps > maximumSteps.getAsLong()) {
+			throw new PuzzleTimeoutException("Solve exceeded its budget of %d steps!".formatted(maximumSteps.getAsLong()));
+		}
+
+		if (steps % CLOCK_INTERVAL == 0) {
+			if (Thread.currentThread().isInterrupted()) {
+				throw new PuzzleTimeoutException("Solve was cancelled after %d steps!".formatted(steps));
+			}
+			if (timeout.isPresent() && System.nanoTime() - deadline > 0) {
+				throw new PuzzleTimeoutException("Solve exceeded its time budget of %s!".formatted(timeout.orElseThrow()));
+			}
+		}
+	}
+}
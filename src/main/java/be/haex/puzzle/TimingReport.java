@@ -0,0 +1,67 @@
+package be.haex.puzzle;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.joining;
+
+final class TimingReport {
+
+	private static final List<String> COLUMNS = List.of("day", "part", "phase", "samples", "coldNanos", "minNanos", "medianNanos", "meanNanos", "p90Nanos", "p99Nanos", "stddevNanos");
+
+	private final List<Row> rows = new ArrayList<>();
+
+	synchronized void add(int day, String part, String phase, TimingStatistics statistics) {
+		rows.add(new Row(day, part, phase, statistics));
+	}
+
+	synchronized void write(Path path) throws IOException {
+		var content = path.toString().endsWith(".json") ? toJson() : toCsv();
+
+		Files.writeString(path, content);
+	}
+
+	private String toCsv() {
+		return Stream.concat(
+						Stream.of(String.join(",", COLUMNS)),
+						rows.stream().map(row -> row.values().stream().map(String::valueOf).collect(joining(",")))
+				)
+				.collect(joining("\n", "", "\n"));
+	}
+
+	private String toJson() {
+		return rows.stream()
+				.map(row -> {
+					var values = row.values();
+
+					return IntStream.range(0, COLUMNS.size())
+							.mapToObj(index -> "\"%s\":%s".formatted(COLUMNS.get(index), values.get(index) instanceof String value ? "\"" + value + "\"" : values.get(index)))
+							.collect(joining(",", "{", "}"));
+				})
+				.collect(joining(",\n  ", "[\n  ", "\n]\n"));
+	}
+
+	private record Row(int day, String part, String phase, TimingStatistics statistics) {
+
+		public List<Object> values() {
+			return List.of(
+					day,
+					part,
+					phase,
+					statistics.samples(),
+					statistics.cold().toNanos(),
+					statistics.minimum().toNanos(),
+					statistics.median().toNanos(),
+					statistics.mean().toNanos(),
+					statistics.p90().toNanos(),
+					statistics.p99().toNanos(),
+					statistics.standardDeviation().toNanos()
+			);
+		}
+	}
+}
@@ -0,0 +1,54 @@
+package be.haex.puzzle;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+record TimingStatistics(int samples,
+						Duration cold,
+						Duration minimum,
+						Duration median,
+						Duration mean,
+						Duration p90,
+						Duration p99,
+						Duration standardDeviation) {
+
+	public static TimingStatistics of(Duration cold, List<Duration> measurements) {
+		if (measurements.isEmpty()) {
+			throw new IllegalArgumentException("Cannot compute timing statistics without measurements!");
+		}
+
+		var nanos = measurements.stream()
+				.mapToLong(Duration::toNanos)
+				.sorted()
+				.toArray();
+		var mean = Arrays.stream(nanos).average().orElse(0);
+		var variance = Arrays.stream(nanos)
+				.mapToDouble(value -> (value - mean) * (value - mean))
+				.sum() / nanos.length;
+
+		return new TimingStatistics(
+				nanos.length,
+				cold,
+				Duration.ofNanos(nanos[0]),
+				Duration.ofNanos(percentile(nanos, 50)),
+				Duration.ofNanos(Math.round(mean)),
+				Duration.ofNanos(percentile(nanos, 90)),
+				Duration.ofNanos(percentile(nanos, 99)),
+				Duration.ofNanos(Math.round(Math.sqrt(variance)))
+		);
+	}
+
+	private static long percentile(long[] sortedNanos, int percentile) {
+		var rank = (int) Math.ceil(percentile / 100d * sortedNanos.length);
+
+		return sortedNanos[Math.max(0, rank - 1)];
+	}
+
+	@Override
+	public String toString() {
+		return "cold %s, min %s, median %s, mean %s, p90 %s, p99 %s, stddev %s over %d runs".formatted(
+				cold, minimum, median, mean, p90, p99, standardDeviation, samples
+		);
+	}
+}
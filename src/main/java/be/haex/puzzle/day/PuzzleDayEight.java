@@ -26,6 +26,15 @@ public class PuzzleDayEight implements Puzzle<Long> {
 		this(INPUT_FILE_NAME, INPUT_FILE_NAME);
 	}
 
+	@Override
+	public String partOneInputFileName() {
+		return partOneInputFileName;
+	}
+
+	@Override
+	public String partTwoInputFileName() {
+		return partTwoInputFileName;
+	}
 
 	@Override
 	public Long solvePartOne() {
@@ -78,6 +87,8 @@ public class PuzzleDayEight implements Puzzle<Long> {
 			var steps = 0L;
 
 			while (!node.name().matches(destinationRegex)) {
+				Puzzle.checkpoint();
+
 				node = navigate(node, instructions.get(steps));
 
 				steps++;
@@ -1,22 +1,15 @@
 package be.haex.puzzle.day;
 
 import be.haex.puzzle.Puzzle;
+import be.haex.puzzle.grid.BreadthFirstSearch;
+import be.haex.puzzle.grid.Grid;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
 import java.util.function.Function;
-import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import static java.util.function.Predicate.not;
-
 public class PuzzleDayEighteen implements Puzzle<Long> {
 
 	@Override
@@ -131,22 +124,51 @@ public class PuzzleDayEighteen implements Puzzle<Long> {
 
 			@Override
 			public long calculateAreaSize(List<Instruction> instructions) {
-				var grid = InfiniteGrid.empty(fillCharacter);
-
+				var corners = new ArrayList<Position>();
 				var start = new Position(0, 0);
-				grid.draw(start);
+				var bounds = Bounds.of(start);
+				corners.add(start);
 
 				for (var instruction : instructions) {
-					var end = start.move(instruction.direction(), instruction.meters());
+					start = start.move(instruction.direction(), instruction.meters());
+					bounds = bounds.include(start);
+					corners.add(start);
+				}
 
-					grid.draw(start, end);
+				var trench = rasterise(corners, bounds);
+				var outline = trench.count((byte) fillCharacter);
 
-					start = end;
+				var fill = BreadthFirstSearch.over(trench, cell -> trench.get(cell) != fillCharacter);
+				var inside = new Position(1, 1);
+
+				if (bounds.contains(inside) && trench.get(bounds.index(inside)) != fillCharacter) {
+					fill.start(bounds.index(inside)).run();
 				}
 
-				grid.floodFill(new Position(1, 1));
+				return outline + fill.visitedCount();
+			}
 
-				return grid.size();
+			/**
+			 * Draws the trench between consecutive corners on a grid spanning {@code bounds}.
+			 */
+			private Grid rasterise(List<Position> corners, Bounds bounds) {
+				var trench = Grid.filled(bounds.height(), bounds.width(), (byte) 0);
+
+				for (var i = 1; i < corners.size(); i++) {
+					var from = bounds.index(corners.get(i - 1));
+					var to = bounds.index(corners.get(i));
+					var step = corners.get(i - 1).x() == corners.get(i).x()
+							? Integer.signum(to - from)
+							: Integer.signum(to - from) * bounds.width();
+
+					for (var cell = from; cell != to; cell += step) {
+						trench.set(cell, (byte) fillCharacter);
+					}
+				}
+
+				trench.set(bounds.index(corners.getFirst()), (byte) fillCharacter);
+
+				return trench;
 			}
 		}
 
@@ -185,23 +207,6 @@ public class PuzzleDayEighteen implements Puzzle<Long> {
 
 	private record Position(int x, int y) {
 
-		public static List<Position> between(Position start, Position end) {
-			var positions = new ArrayList<Position>();
-
-			var dx = end.x - start.x;
-			var dy = end.y - start.y;
-			var steps = Math.max(Math.abs(dx), Math.abs(dy));
-
-			for (var step = 0; step <= steps; step++) {
-				var x = start.x + step * dx / steps;
-				var y = start.y + step * dy / steps;
-
-				positions.add(new Position(x, y));
-			}
-
-			return positions;
-		}
-
 		public Position move(Direction direction, int meters) {
 			return switch (direction) {
 				case UP -> new Position(x - meters, y);
@@ -216,64 +221,36 @@ public class PuzzleDayEighteen implements Puzzle<Long> {
 		}
 	}
 
-	private record InfiniteGrid(Map<Position, Character> values, char filledCharacter) {
-
-		public static InfiniteGrid empty(char filledCharacter) {
-			return new InfiniteGrid(new HashMap<>(), filledCharacter);
-		}
-
-		public void draw(Position position) {
-			values.put(position, filledCharacter);
-		}
-
-		public void draw(Position position, char value) {
-			values.put(position, value);
-		}
-
-		public void draw(Position start, Position end) {
-			draw(start, end, filledCharacter);
-		}
+	private record Bounds(int minimumX, int maximumX, int minimumY, int maximumY) {
 
-		public void draw(Position start, Position end, char value) {
-			Position.between(start, end).forEach(position -> draw(position, value));
+		public static Bounds of(Position position) {
+			return new Bounds(position.x(), position.x(), position.y(), position.y());
 		}
 
-		public void floodFill(Position start) {
-			floodFill(start, filledCharacter);
+		public Bounds include(Position position) {
+			return new Bounds(
+					Math.min(minimumX, position.x()),
+					Math.max(maximumX, position.x()),
+					Math.min(minimumY, position.y()),
+					Math.max(maximumY, position.y())
+			);
 		}
 
-		public void floodFill(Position start, char filledCharacter) {
-			floodFill(start, character -> character != filledCharacter, filledCharacter);
+		public int height() {
+			return maximumX - minimumX + 1;
 		}
 
-		public void floodFill(Position start, Predicate<Character> shouldBeFilled, char filledCharacter) {
-			var checked = new HashSet<Position>();
-			var toBeChecked = new LinkedList<Position>();
-			toBeChecked.add(start);
-
-			while (!toBeChecked.isEmpty()) {
-				var position = toBeChecked.pop();
-				var characterAtPosition = read(position);
-
-				if (shouldBeFilled.test(characterAtPosition)) {
-					draw(position, filledCharacter);
-
-					checked.add(position);
-
-					Arrays.stream(Direction.values())
-							.map(direction -> position.move(direction, 1))
-							.filter(not(checked::contains))
-							.forEach(toBeChecked::add);
-				}
-			}
+		public int width() {
+			return maximumY - minimumY + 1;
 		}
 
-		public Character read(Position position) {
-			return Optional.ofNullable(values.get(position)).orElse((char) 0);
+		public boolean contains(Position position) {
+			return position.x() >= minimumX && position.x() <= maximumX
+					&& position.y() >= minimumY && position.y() <= maximumY;
 		}
 
-		public int size() {
-			return values.size();
+		public int index(Position position) {
+			return (position.x() - minimumX) * width() + position.y() - minimumY;
 		}
 	}
 }
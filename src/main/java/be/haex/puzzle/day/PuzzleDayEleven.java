@@ -1,12 +1,11 @@
 package be.haex.puzzle.day;
 
 import be.haex.puzzle.Puzzle;
+import be.haex.puzzle.PuzzleInput;
+import be.haex.puzzle.grid.Grid;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
-import java.util.StringJoiner;
 import java.util.function.UnaryOperator;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -24,7 +23,7 @@ public class PuzzleDayEleven implements Puzzle<Long> {
 	}
 
 	private Universe readUniverse() {
-		return Universe.parse(readContentOfInputFile("puzzleDayEleven.txt"));
+		return parsePuzzleInput("puzzleDayEleven.txt", Universe.class, Universe::parse);
 	}
 
 	@Override
@@ -37,24 +36,19 @@ public class PuzzleDayEleven implements Puzzle<Long> {
 				.sum();
 	}
 
-	private record Universe(Character[][] originalMap, List<Galaxy> galaxies) {
+	private record Universe(Grid originalMap, List<Galaxy> galaxies) {
 
-		public static Universe parse(List<String> values) {
-			var map = new Character[values.size()][values.getFirst().length()];
+		private static final byte OPEN_SPACE = '.';
+		private static final byte GALAXY = '#';
+
+		public static Universe parse(PuzzleInput values) {
+			var map = Grid.parse(values);
 			var galaxies = new ArrayList<Galaxy>();
 
 			var galaxyIndex = 1;
-			for (var rowIndex = 0; rowIndex < values.size(); rowIndex++) {
-				var row = map[rowIndex];
-
-				for (var columnIndex = 0; columnIndex < values.get(rowIndex).length(); columnIndex++) {
-					var value = values.get(rowIndex).charAt(columnIndex);
-
-					row[columnIndex] = value;
-
-					if (value == '#') {
-						galaxies.add(new Galaxy(galaxyIndex++, new Position(rowIndex, columnIndex)));
-					}
+			for (var index = 0; index < map.size(); index++) {
+				if (map.get(index) == GALAXY) {
+					galaxies.add(new Galaxy(galaxyIndex++, new Position(map.row(index), map.column(index))));
 				}
 			}
 
@@ -77,14 +71,14 @@ public class PuzzleDayEleven implements Puzzle<Long> {
 		}
 
 		private List<Integer> determineRowsWithOnlyOpenSpaces() {
-			return IntStream.range(0, originalMap.length)
-					.filter(rowIndex -> onlyOpenSpaces(originalMap[rowIndex]))
-					.boxed()
-					.toList();
+			return rowsWithOnlyOpenSpaces(originalMap);
 		}
 
-		private boolean onlyOpenSpaces(Character[] spaces) {
-			return Arrays.stream(spaces).allMatch(character -> character == '.');
+		private static List<Integer> rowsWithOnlyOpenSpaces(Grid map) {
+			return IntStream.range(0, map.rows())
+					.filter(row -> map.rowContainsOnly(row, OPEN_SPACE))
+					.boxed()
+					.toList();
 		}
 
 		private UnaryOperator<Galaxy> expandVertically(int expansionSize, List<Integer> expandingRows) {
@@ -114,16 +108,7 @@ public class PuzzleDayEleven implements Puzzle<Long> {
 		}
 
 		private List<Integer> determineColumnsWithOnlyOpenSpaces() {
-			return IntStream.range(0, originalMap[0].length)
-					.filter(this::onlyOpenSpaces)
-					.boxed()
-					.toList();
-		}
-
-		private boolean onlyOpenSpaces(int index) {
-			return Arrays.stream(originalMap)
-					.map(spaces -> spaces[index])
-					.allMatch(character -> character == '.');
+			return rowsWithOnlyOpenSpaces(originalMap.transposed());
 		}
 
 		private UnaryOperator<Galaxy> expandHorizontally(int expansionSize, List<Integer> expandingColumns) {
@@ -165,29 +150,6 @@ public class PuzzleDayEleven implements Puzzle<Long> {
 					cartesianProductGalaxies(otherGalaxies)
 			);
 		}
-
-		@Override
-		public boolean equals(Object o) {
-			if (this == o) return true;
-			if (o == null || getClass() != o.getClass()) return false;
-			Universe universe = (Universe) o;
-			return Arrays.deepEquals(originalMap, universe.originalMap) && Objects.equals(galaxies, universe.galaxies);
-		}
-
-		@Override
-		public int hashCode() {
-			int result = Objects.hash(galaxies);
-			result = 31 * result + Arrays.deepHashCode(originalMap);
-			return result;
-		}
-
-		@Override
-		public String toString() {
-			return new StringJoiner(", ", Universe.class.getSimpleName() + "[", "]")
-					.add("originalMap=" + Arrays.toString(originalMap))
-					.add("galaxies=" + galaxies)
-					.toString();
-		}
 	}
 
 	record Galaxy(int name, Position position) {
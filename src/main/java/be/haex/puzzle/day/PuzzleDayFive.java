@@ -1,29 +1,50 @@
 package be.haex.puzzle.day;
 
 import be.haex.puzzle.Puzzle;
+import be.haex.puzzle.PuzzleInput;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.IntStream;
-import java.util.stream.LongStream;
-import java.util.stream.Stream;
-
-import static java.util.Comparator.comparingLong;
 
 public class PuzzleDayFive implements Puzzle<Long> {
 
+	private static final String INPUT_FILE_NAME = "puzzleDayFive.txt";
+
+	private final String fileName;
+
+	PuzzleDayFive(String fileName) {
+		this.fileName = fileName;
+	}
+
+	public PuzzleDayFive() {
+		this(INPUT_FILE_NAME);
+	}
+
+	@Override
+	public String inputFileName() {
+		return fileName;
+	}
+
 	@Override
 	public Long solvePartOne() {
 		return readAlmanac()
-				.lowestLocation(Collection::stream);
+				.lowestLocation();
 	}
 
 	private Almanac readAlmanac() {
-		return Almanac.parse(readContentOfInputFile("puzzleDayFive.txt"));
+		return parsePuzzleInput(fileName, Almanac.class, Almanac::parse);
+	}
+
+	/**
+	 * The composed lookups of the almanac, to locate many seeds at once.
+	 */
+	SeedToLocation seedToLocation() {
+		return readAlmanac()
+				.seedToLocation();
 	}
 
 	@Override
@@ -31,108 +52,233 @@ public class PuzzleDayFive implements Puzzle<Long> {
 		return readAlmanac()
 				.lowestLocation(seedsToBePlanted -> IntStream.range(0, seedsToBePlanted.size())
 						.filter(index -> index % 2 == 0)
-						.mapToObj(index -> LongStream.range(seedsToBePlanted.get(index), seedsToBePlanted.get(index) + seedsToBePlanted.get(index + 1) - 1))
-						.flatMap(LongStream::boxed));
+						.mapToObj(index -> new Range(seedsToBePlanted.get(index), seedsToBePlanted.get(index) + seedsToBePlanted.get(index + 1)))
+						.toList());
 	}
 
-	private record Almanac(List<Long> seedsToBePlanted,
-						   Lookup seedToSoil,
-						   Lookup soilToFertilizer,
-						   Lookup fertilizerToWater,
-						   Lookup waterToLight,
-						   Lookup lightToTemperature,
-						   Lookup temperatureToHumidity,
-						   Lookup humidityToLocation) {
-
-		public static Almanac parse(List<String> input) {
-			var mutableInput = new ArrayList<>(input);
-			var seedsToPlanInput = mutableInput.removeFirst();
-			var emptyIndexes = IntStream.range(1, mutableInput.size())
-					.filter(index -> mutableInput.get(index).isBlank())
-					.boxed()
-					.toList();
+	private record Almanac(List<Long> seedsToBePlanted, SeedToLocation seedToLocation) {
+
+		public static Almanac parse(PuzzleInput input) {
+			var seedToLocation = SeedToLocation.identity();
+			var entries = new ArrayList<LookupEntry>();
+
+			for (var line = 1; line < input.lineCount(); line++) {
+				var values = PuzzleInput.parseLongs(input.line(line));
+
+				if (values.length > 0) {
+					entries.add(LookupEntry.parse(values));
+				} else if (!entries.isEmpty()) {
+					seedToLocation = seedToLocation.andThen(Lookup.of(entries));
+					entries.clear();
+				}
+			}
+
+			if (!entries.isEmpty()) {
+				seedToLocation = seedToLocation.andThen(Lookup.of(entries));
+			}
+
+			return new Almanac(seedsToPlantFrom(input), seedToLocation);
+		}
 
-			return new Almanac(
-					seedsToPlantFrom(seedsToPlanInput),
-					Lookup.parse(mutableInput.subList(2, emptyIndexes.get(0))),
-					Lookup.parse(mutableInput.subList(emptyIndexes.get(0) + 2, emptyIndexes.get(1))),
-					Lookup.parse(mutableInput.subList(emptyIndexes.get(1) + 2, emptyIndexes.get(2))),
-					Lookup.parse(mutableInput.subList(emptyIndexes.get(2) + 2, emptyIndexes.get(3))),
-					Lookup.parse(mutableInput.subList(emptyIndexes.get(3) + 2, emptyIndexes.get(4))),
-					Lookup.parse(mutableInput.subList(emptyIndexes.get(4) + 2, emptyIndexes.get(5))),
-					Lookup.parse(mutableInput.subList(emptyIndexes.get(5) + 2, mutableInput.size()))
-			);
-		}
-
-		private static List<Long> seedsToPlantFrom(String input) {
-			return Arrays.stream(onlySpacesAndDigits(input).split("\\s"))
-					.map(Long::parseLong)
+		private static List<Long> seedsToPlantFrom(PuzzleInput input) {
+			return Arrays.stream(PuzzleInput.parseLongs(input.line(0)))
+					.boxed()
 					.toList();
 		}
 
-		private static String onlySpacesAndDigits(String input) {
-			return input.replace("seeds:", "").trim();
+		public long lowestLocation() {
+			var seeds = seedsToBePlanted.stream()
+					.mapToLong(Long::longValue)
+					.toArray();
+
+			return Arrays.stream(seedToLocation.apply(seeds))
+					.min()
+					.orElse(0L);
 		}
 
-		public long lowestLocation(Function<List<Long>, Stream<Long>> seedsToPlantInterpreter) {
+		public long lowestLocation(Function<List<Long>, List<Range>> seedsToPlantInterpreter) {
 			return seedsToPlantInterpreter.apply(seedsToBePlanted)
-					.parallel()
-					.map(determineLocation())
-					.min(comparingLong(Long::longValue))
+					.stream()
+					.mapToLong(seedToLocation::lowest)
+					.min()
 					.orElse(0L);
 		}
+	}
+
+	/**
+	 * The seven lookups composed into one function. Seeds from {@code starts[i]} up to
+	 * {@code starts[i + 1]} map to {@code seed + offsets[i]}; the last piece extends to every higher
+	 * seed. A seed is located with a binary search over the starts, without allocating.
+	 */
+	static final class SeedToLocation {
+
+		private static final long LAST_CATEGORY = Long.MAX_VALUE / 2;
+
+		private final long[] starts;
+		private final long[] offsets;
+
+		private SeedToLocation(long[] starts, long[] offsets) {
+			this.starts = starts;
+			this.offsets = offsets;
+		}
+
+		public static SeedToLocation identity() {
+			return new SeedToLocation(new long[]{0}, new long[]{0});
+		}
+
+		/**
+		 * Pushes the image of every piece through the lookup; the lookup splits it in ranges in the
+		 * order of their sources, so each range becomes a piece of its own with a combined offset.
+		 */
+		public SeedToLocation andThen(Lookup lookup) {
+			var composedStarts = new long[starts.length];
+			var composedOffsets = new long[offsets.length];
+			var pieces = 0;
 
-		private Function<Long, Long> determineLocation() {
-			return seed -> {
-				var soil = seedToSoil.get(seed);
-				var fertilizer = soilToFertilizer.get(soil);
-				var water = fertilizerToWater.get(fertilizer);
-				var light = waterToLight.get(water);
-				var temperature = lightToTemperature.get(light);
-				var humidity = temperatureToHumidity.get(temperature);
+			for (var piece = 0; piece < starts.length; piece++) {
+				var end = piece + 1 < starts.length ? starts[piece + 1] : LAST_CATEGORY;
+				var start = starts[piece];
+
+				for (var value : lookup.get(List.of(new Range(start + offsets[piece], end + offsets[piece])))) {
+					var offset = value.start() - start;
+
+					if (pieces == 0 || composedOffsets[pieces - 1] != offset) {
+						if (pieces == composedStarts.length) {
+							composedStarts = Arrays.copyOf(composedStarts, pieces * 2);
+							composedOffsets = Arrays.copyOf(composedOffsets, pieces * 2);
+						}
+
+						composedStarts[pieces] = start;
+						composedOffsets[pieces] = offset;
+						pieces++;
+					}
+
+					start += value.end() - value.start();
+				}
+			}
 
-				return humidityToLocation.get(humidity);
-			};
+			return new SeedToLocation(Arrays.copyOf(composedStarts, pieces), Arrays.copyOf(composedOffsets, pieces));
+		}
+
+		public long apply(long seed) {
+			return seed + offsets[piece(seed)];
+		}
+
+		public long[] apply(long[] seeds) {
+			var locations = new long[seeds.length];
+			apply(seeds, locations);
+
+			return locations;
+		}
+
+		public void apply(long[] seeds, long[] locations) {
+			for (var index = 0; index < seeds.length; index++) {
+				locations[index] = apply(seeds[index]);
+			}
+		}
+
+		/**
+		 * Every piece maps its seeds in increasing order, so the lowest location of a range is at the
+		 * start of the range or of one of the pieces inside it.
+		 */
+		public long lowest(Range seeds) {
+			var lowest = Long.MAX_VALUE;
+
+			for (var piece = piece(seeds.start()); piece < starts.length && starts[piece] < seeds.end(); piece++) {
+				lowest = Math.min(lowest, Math.max(seeds.start(), starts[piece]) + offsets[piece]);
+			}
+
+			return lowest;
+		}
+
+		private int piece(long seed) {
+			if (seed < starts[0]) {
+				throw new IllegalArgumentException("Expected a category of at least %d, got <%d>!".formatted(starts[0], seed));
+			}
+
+			var index = Arrays.binarySearch(starts, seed);
+
+			return index >= 0 ? index : -index - 2;
+		}
+	}
+
+	/**
+	 * The categories from {@code start} up to but not including {@code end}, of which there is at least
+	 * one.
+	 */
+	private record Range(long start, long end) {
+
+		private Range {
+			if (end <= start) {
+				throw new IllegalArgumentException("Expected a range of at least one category, got <%d..%d>!".formatted(start, end));
+			}
 		}
 	}
 
 	private record Lookup(List<LookupEntry> entries) {
 
-		public static Lookup parse(List<String> input) {
-			var entries = input.stream()
-					.map(LookupEntry::parse)
+		public static Lookup of(List<LookupEntry> entries) {
+			var sortedEntries = entries.stream()
+					.sorted(Comparator.comparingLong(LookupEntry::sourceCategory))
 					.toList();
 
-			return new Lookup(entries);
+			return new Lookup(sortedEntries);
 		}
 
-		public Long get(Long key) {
-			return entries.stream()
-					.map(entry -> entry.get(key))
-					.flatMap(Optional::stream)
-					.findFirst()
-					.orElse(key);
+		public List<Range> get(List<Range> keys) {
+			var values = new ArrayList<Range>();
+
+			for (var key : keys) {
+				get(key, values);
+			}
+
+			return values;
+		}
+
+		private void get(Range key, List<Range> values) {
+			var start = key.start();
+
+			for (var entry : entries) {
+				if (start >= key.end() || entry.sourceCategory() >= key.end()) {
+					break;
+				}
+
+				if (entry.maximumSourceCategory() < start) {
+					continue;
+				}
+
+				if (start < entry.sourceCategory()) {
+					values.add(new Range(start, entry.sourceCategory()));
+					start = entry.sourceCategory();
+				}
+
+				var end = Math.min(key.end(), entry.maximumSourceCategory() + 1);
+				values.add(new Range(entry.get(start), entry.get(end - 1) + 1));
+				start = end;
+			}
+
+			if (start < key.end()) {
+				values.add(new Range(start, key.end()));
+			}
 		}
 	}
 
 	private record LookupEntry(long sourceCategory, long destinationCategory, long rangeLength) {
 
-		public static LookupEntry parse(String input) {
-			var elements = Arrays.stream(input.split("\\s"))
-					.map(Long::parseLong)
-					.toList();
+		public static LookupEntry parse(long[] values) {
+			if (values.length != 3) {
+				throw new IllegalArgumentException("Expected a destination, source and length, got <%s>!".formatted(Arrays.toString(values)));
+			}
 
-			return new LookupEntry(elements.get(1), elements.get(0), elements.get(2));
+			return new LookupEntry(values[1], values[0], values[2]);
 		}
 
-		public Optional<Long> get(Long key) {
-			var maximumSourceCategory = sourceCategory + rangeLength - 1;
+		public long maximumSourceCategory() {
+			return sourceCategory + rangeLength - 1;
+		}
 
-			if (key >= sourceCategory && key <= maximumSourceCategory) {
-				return Optional.of(destinationCategory + key - sourceCategory);
-			} else {
-				return Optional.empty();
-			}
+		public long get(long key) {
+			return destinationCategory + key - sourceCategory;
 		}
 	}
 }
@@ -2,44 +2,52 @@ package be.haex.puzzle.day;
 
 import be.haex.puzzle.Puzzle;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import static java.util.function.Predicate.not;
-import static java.util.stream.Collectors.counting;
-import static java.util.stream.Collectors.groupingBy;
 
 public class PuzzleDayFour implements Puzzle<Long> {
 
 	@Override
 	public Long solvePartOne() {
-		return readScratchCards()
-				.mapToLong(ScratchCard::points)
-				.sum();
+		try (var scratchCards = readScratchCards()) {
+			return scratchCards
+					.mapToLong(ScratchCard::points)
+					.sum();
+		}
 	}
 
 	private Stream<ScratchCard> readScratchCards() {
-		return readContentOfInputFile("puzzleDayFour.txt")
-				.stream()
+		return streamPuzzleInput("puzzleDayFour.txt")
 				.map(ScratchCard::parse);
 	}
 
 	@Override
 	public Long solvePartTwo() {
-		var originalScratchCard = readScratchCards().toList();
-		var scratchCards = originalScratchCard.stream()
-				.collect(groupingBy(ScratchCard::id, counting()));
-
-		originalScratchCard
-				.forEach(scratchCard -> scratchCard.wonScratchCards()
-						.forEach(wonScratchCard -> scratchCards.computeIfPresent(wonScratchCard, (id, amount) -> amount + scratchCards.get(scratchCard.id()))));
-
-		return scratchCards.values()
-				.stream()
-				.mapToLong(Long::longValue)
-				.sum();
+		var pendingCopies = new ArrayList<Long>();
+
+		try (var scratchCards = readScratchCards()) {
+			return scratchCards
+					.mapToLong(scratchCard -> {
+						var copies = 1 + (pendingCopies.isEmpty() ? 0 : pendingCopies.removeFirst());
+						var wonScratchCards = scratchCard.wonScratchCards().size();
+
+						for (var index = 0; index < wonScratchCards; index++) {
+							if (index < pendingCopies.size()) {
+								pendingCopies.set(index, pendingCopies.get(index) + copies);
+							} else {
+								pendingCopies.add(copies);
+							}
+						}
+
+						return copies;
+					})
+					.sum();
+		}
 	}
 
 	private record ScratchCard(int id, List<Integer> pickedNumbers, List<Integer> winningNumbers) {
@@ -1,20 +1,29 @@
 package be.haex.puzzle.day;
 
 import be.haex.puzzle.Puzzle;
+import be.haex.puzzle.PuzzleInput;
+import be.haex.puzzle.grid.BitGrid;
+import be.haex.puzzle.grid.Grid;
+import be.haex.puzzle.jfr.PuzzlePhaseEvent;
+import be.haex.puzzle.util.CycleDetection;
+import be.haex.puzzle.util.Fingerprint;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.StringJoiner;
-import java.util.function.BiPredicate;
-import java.util.function.Consumer;
-import java.util.function.IntUnaryOperator;
-import java.util.function.ToIntFunction;
-import java.util.function.UnaryOperator;
 import java.util.stream.IntStream;
 
 public class PuzzleDayFourteen implements Puzzle<Long> {
 
+	private final CycleDetection cycleDetection;
+
+	public PuzzleDayFourteen(CycleDetection cycleDetection) {
+		this.cycleDetection = cycleDetection;
+	}
+
+	public PuzzleDayFourteen() {
+		this(CycleDetection.HASHED);
+	}
+
 	@Override
 	public Long solvePartOne() {
 		return readPlatform()
@@ -23,236 +32,174 @@ public class PuzzleDayFourteen implements Puzzle<Long> {
 	}
 
 	private Platform readPlatform() {
-		return Platform.parse(readContentOfInputFile("puzzleDayFourteen.txt"));
+		return Platform.parse(readPuzzleInput("puzzleDayFourteen.txt"));
 	}
 
 	@Override
 	public Long solvePartTwo() {
 		return readPlatform()
-				.tilt(1_000_000_000)
+				.spin(1_000_000_000, cycleDetection)
 				.calculateTotalLoad();
 	}
 
-	private record Platform(Space[][] spaces) {
+	/**
+	 * The rounded rocks are a bitboard with one row of bits per platform row. The cube rocks never
+	 * move, so they are only kept as the segments of free space between them, once along the rows
+	 * and once along the columns. Tilting counts the rounded rocks of every segment and packs that
+	 * many bits against the end of the segment the rocks roll to; a north or south tilt does the same
+	 * on the transposed bitboard.
+	 */
+	private record Platform(BitGrid roundedRocks, Segments rowSegments, Segments columnSegments) {
+
+		private static final byte EMPTY = '.';
+		private static final byte CUBE_ROCK = '#';
+		private static final byte ROUNDED_ROCK = 'O';
 
-		public static Platform parse(List<String> input) {
-			var spaces = new Space[input.size()][input.getFirst().length()];
+		public static Platform parse(PuzzleInput input) {
+			var spaces = Grid.parse(input);
 
-			for (var rowIndex = 0; rowIndex < spaces.length; rowIndex++) {
-				var row = input.get(rowIndex);
+			for (var index = 0; index < spaces.size(); index++) {
+				var space = spaces.get(index);
 
-				for (var columnIndex = 0; columnIndex < row.length(); columnIndex++) {
-					spaces[rowIndex][columnIndex] = switch (row.charAt(columnIndex)) {
-						case '.' -> new Space.Empty();
-						case '#' -> new Space.Rock(RockType.CUBE);
-						case 'O' -> new Space.Rock(RockType.ROUNDED);
-						default -> throw new IllegalArgumentException("Unknown space type: " + row.charAt(columnIndex));
-					};
+				if (space != EMPTY && space != CUBE_ROCK && space != ROUNDED_ROCK) {
+					throw new IllegalArgumentException("Unknown space type: " + (char) space);
 				}
 			}
 
-			return new Platform(spaces);
+			var cubeRocks = BitGrid.of(spaces, CUBE_ROCK);
+
+			return new Platform(
+					BitGrid.of(spaces, ROUNDED_ROCK),
+					Segments.between(cubeRocks),
+					Segments.between(cubeRocks.transposed())
+			);
 		}
 
 		public Platform tilt(Direction direction) {
-			var transformer = direction.spacesTransformer();
-			var spacesAfterTilt = transformer.apply(spaces);
-
-			Arrays.stream(spacesAfterTilt)
-					.parallel()
-					.forEach(move(direction));
-
-			return new Platform(transformer.apply(spacesAfterTilt));
+			return new Platform(roll(roundedRocks.copy(), direction), rowSegments, columnSegments);
 		}
 
-		private Consumer<Space[]> move(Direction direction) {
-			return row -> {
-				var startColumnIndex = direction.startColumnIndexDeterminer().applyAsInt(row);
+		/**
+		 * Rolls the rocks of a row tilt in place; a column tilt returns a new bitboard.
+		 */
+		private BitGrid roll(BitGrid roundedRocks, Direction direction) {
+			if (!direction.alongColumns()) {
+				rowSegments.roll(roundedRocks, direction.towardsStart());
 
-				for (var columnIndex = startColumnIndex; direction.stopColumnDeterminer().test(row, columnIndex); columnIndex = direction.columnIndexer().applyAsInt(columnIndex)) {
-					var space = row[columnIndex];
-
-					if (space instanceof Space.Rock rock && rock.type() == RockType.ROUNDED) {
-						var nextSpaceIndexer = direction.nextSpaceIndexer();
-						var nextSpaceIndex = nextSpaceIndexer.applyAsInt(columnIndex);
+				return roundedRocks;
+			}
 
-						if (canRollTo(row, nextSpaceIndex)) {
-							while (canRollTo(row, nextSpaceIndexer.applyAsInt(nextSpaceIndex))) {
-								nextSpaceIndex = nextSpaceIndexer.applyAsInt(nextSpaceIndex);
-							}
+			var columns = roundedRocks.transposed();
+			columnSegments.roll(columns, direction.towardsStart());
 
-							row[nextSpaceIndex] = space;
-							row[columnIndex] = new Space.Empty();
-						}
-					}
-				}
-			};
+			return columns.transposed();
 		}
 
-		private boolean canRollTo(Space[] spaces, int columnIndex) {
-			return columnIndex >= 0 && columnIndex < spaces.length && spaces[columnIndex] instanceof Space.Empty;
+		public Platform spin(long cycles, CycleDetection cycleDetection) {
+			return PuzzlePhaseEvent.record(PuzzleDayFourteen.class, "cycle detection",
+					() -> cycleDetection.advance(this, cycles, Platform::spinOnce, Platform::fingerprint));
 		}
 
-		public Platform tilt(int cycles) {
-			var memoization = new ArrayList<Platform>();
-			var platform = this;
-
-			var cycle = 1;
-			while (cycle <= cycles) {
-				platform = platform.tilt(Direction.NORTH)
-						.tilt(Direction.WEST)
-						.tilt(Direction.SOUTH)
-						.tilt(Direction.EAST);
-
-				if (memoization.contains(platform)) {
-					var cycleLength = cycle - memoization.indexOf(platform) - 1;
-					var remainingCycles = cycles - cycle;
-
-					cycle += remainingCycles / cycleLength * cycleLength;
-				}
+		private Platform spinOnce() {
+			var spun = roundedRocks.copy();
 
-				memoization.add(platform);
-				cycle++;
+			for (var direction : Direction.SPIN_CYCLE) {
+				spun = roll(spun, direction);
 			}
 
-			return platform;
+			return new Platform(spun, rowSegments, columnSegments);
+		}
+
+		private Fingerprint fingerprint() {
+			return roundedRocks.fingerprint();
 		}
 
 		public long calculateTotalLoad() {
-			return IntStream.range(0, spaces.length)
-					.mapToLong(rowIndex -> countRoundedRocks(rowIndex) * (spaces.length - rowIndex))
+			var rows = roundedRocks.rows();
+
+			return IntStream.range(0, rows)
+					.mapToLong(row -> (long) roundedRocks.count(row) * (rows - row))
 					.sum();
 		}
+	}
 
-		private long countRoundedRocks(int rowIndex) {
-			return Arrays.stream(spaces[rowIndex])
-					.filter(Space.Rock.class::isInstance)
-					.map(Space.Rock.class::cast)
-					.filter(rock -> rock.type() == RockType.ROUNDED)
-					.count();
-		}
+	/**
+	 * The runs of free space between cube rocks, per row of a bitboard: run {@code i} spans the
+	 * columns {@code [starts[i], ends[i])} of the row whose runs begin at {@code firstOfRow[row]}.
+	 */
+	private record Segments(int[] firstOfRow, int[] starts, int[] ends) {
 
-		@Override
-		public boolean equals(Object o) {
-			if (this == o) return true;
-			if (o == null || getClass() != o.getClass()) return false;
-			Platform platform = (Platform) o;
-			return Arrays.deepEquals(spaces, platform.spaces);
-		}
+		public static Segments between(BitGrid cubeRocks) {
+			var firstOfRow = new int[cubeRocks.rows() + 1];
+			var starts = new int[cubeRocks.rows() * (cubeRocks.columns() + 1) / 2 + 1];
+			var ends = new int[starts.length];
+			var segments = 0;
 
-		@Override
-		public int hashCode() {
-			return Arrays.deepHashCode(spaces);
-		}
+			for (var row = 0; row < cubeRocks.rows(); row++) {
+				firstOfRow[row] = segments;
 
-		@Override
-		public String toString() {
-			return new StringJoiner(", ", Platform.class.getSimpleName() + "[", "]")
-					.add("spaces=" + Arrays.toString(spaces))
-					.toString();
-		}
-	}
+				for (var start = 0; start < cubeRocks.columns(); ) {
+					var cubeRock = cubeRocks.nextSetColumn(row, start);
 
-	private sealed interface Space permits Space.Empty, Space.Rock {
+					if (cubeRock > start) {
+						starts[segments] = start;
+						ends[segments] = cubeRock;
+						segments++;
+					}
 
-		record Empty() implements Space {
-		}
+					start = cubeRock + 1;
+				}
+			}
+			firstOfRow[cubeRocks.rows()] = segments;
 
-		record Rock(RockType type) implements Space {
+			return new Segments(firstOfRow, Arrays.copyOf(starts, segments), Arrays.copyOf(ends, segments));
 		}
-	}
 
-	private enum RockType {
-		CUBE,
-		ROUNDED
-	}
+		public void roll(BitGrid roundedRocks, boolean towardsStart) {
+			for (var row = 0; row < roundedRocks.rows(); row++) {
+				for (var segment = firstOfRow[row]; segment < firstOfRow[row + 1]; segment++) {
+					var start = starts[segment];
+					var end = ends[segment];
+					var rocks = roundedRocks.count(row, start, end);
 
-	private enum Direction {
-		NORTH(
-				transpose(),
-				spaces -> 0,
-				(spaces, index) -> index < spaces.length,
-				index -> index + 1,
-				index -> index - 1
-		),
-		EAST(
-				copy(),
-				spaces -> spaces.length - 1,
-				(spaces, index) -> index >= 0,
-				index -> index - 1,
-				index -> index + 1
-		),
-		SOUTH(
-				transpose(),
-				spaces -> spaces.length - 1,
-				(spaces, index) -> index >= 0,
-				index -> index - 1,
-				index -> index + 1
-		),
-		WEST(
-				copy(),
-				spaces -> 0,
-				(spaces, index) -> index < spaces.length,
-				index -> index + 1,
-				index -> index - 1
-		);
-
-		private final UnaryOperator<Space[][]> spacesTransformer;
-		private final ToIntFunction<Space[]> startColumnIndexDeterminer;
-		private final BiPredicate<Space[], Integer> stopColumnDeterminer;
-		private final IntUnaryOperator columnIndexer;
-		private final IntUnaryOperator nextSpaceIndexer;
-
-		Direction(UnaryOperator<Space[][]> spacesTransformer,
-				  ToIntFunction<Space[]> startColumnIndexDeterminer,
-				  BiPredicate<Space[], Integer> stopColumnDeterminer,
-				  IntUnaryOperator columnIndexer,
-				  IntUnaryOperator nextSpaceIndexer) {
-			this.spacesTransformer = spacesTransformer;
-			this.startColumnIndexDeterminer = startColumnIndexDeterminer;
-			this.stopColumnDeterminer = stopColumnDeterminer;
-			this.columnIndexer = columnIndexer;
-			this.nextSpaceIndexer = nextSpaceIndexer;
-		}
+					if (rocks == 0 || rocks == end - start) {
+						continue;
+					}
 
-		private static UnaryOperator<Space[][]> transpose() {
-			return spaces -> {
-				var transposed = new Space[spaces[0].length][spaces.length];
+					roundedRocks.clear(row, start, end);
 
-				for (var i = 0; i < spaces.length; i++) {
-					for (var j = 0; j < spaces[i].length; j++) {
-						transposed[j][i] = spaces[i][j];
+					if (towardsStart) {
+						roundedRocks.set(row, start, start + rocks);
+					} else {
+						roundedRocks.set(row, end - rocks, end);
 					}
 				}
-
-				return transposed;
-			};
+			}
 		}
+	}
 
-		private static UnaryOperator<Space[][]> copy() {
-			return spaces -> Arrays.stream(spaces)
-					.map(Space[]::clone)
-					.toArray(Space[][]::new);
-		}
+	private enum Direction {
+		NORTH(true, true),
+		EAST(false, false),
+		SOUTH(true, false),
+		WEST(false, true);
 
-		public UnaryOperator<Space[][]> spacesTransformer() {
-			return spacesTransformer;
-		}
+		private static final List<Direction> SPIN_CYCLE = List.of(NORTH, WEST, SOUTH, EAST);
 
-		public ToIntFunction<Space[]> startColumnIndexDeterminer() {
-			return startColumnIndexDeterminer;
-		}
+		private final boolean alongColumns;
+		private final boolean towardsStart;
 
-		public BiPredicate<Space[], Integer> stopColumnDeterminer() {
-			return stopColumnDeterminer;
+		Direction(boolean alongColumns, boolean towardsStart) {
+			this.alongColumns = alongColumns;
+			this.towardsStart = towardsStart;
 		}
 
-		public IntUnaryOperator columnIndexer() {
-			return columnIndexer;
+		public boolean alongColumns() {
+			return alongColumns;
 		}
 
-		public IntUnaryOperator nextSpaceIndexer() {
-			return nextSpaceIndexer;
+		public boolean towardsStart() {
+			return towardsStart;
 		}
 	}
 }
@@ -1,6 +1,7 @@
 package be.haex.puzzle.day;
 
 import be.haex.puzzle.Puzzle;
+import be.haex.puzzle.PuzzleInput;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -9,6 +10,7 @@ import java.util.function.LongBinaryOperator;
 import java.util.function.ToLongFunction;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static java.util.Comparator.reverseOrder;
 
@@ -16,51 +18,44 @@ public class PuzzleDayNine implements Puzzle<Long> {
 
 	@Override
 	public Long solvePartOne() {
-		return readOASISReport()
+		return OASISReport.parse(readPuzzleInput("puzzleDayNine.txt"))
 				.extrapolateNextHistoryValue()
 				.sum();
 	}
 
-	private OASISReport readOASISReport() {
-		return OASISReport.parse(readContentOfInputFile("puzzleDayNine.txt"));
-	}
-
 	@Override
 	public Long solvePartTwo() {
-		return readOASISReport()
+		return OASISReport.parse(readPuzzleInput("puzzleDayNine.txt"))
 				.extrapolatePreviousHistoryValue()
 				.sum();
 	}
 
-	private record OASISReport(List<History> history) {
-
-		public static OASISReport parse(List<String> input) {
-			var history = input.stream()
-					.map(History::parse)
-					.toList();
+	private record OASISReport(Stream<History> history) {
 
-			return new OASISReport(history);
+		public static OASISReport parse(PuzzleInput input) {
+			return new OASISReport(IntStream.range(0, input.lineCount())
+					.mapToObj(line -> History.parse(input, line)));
 		}
 
 		public LongStream extrapolateNextHistoryValue() {
-			return history.stream()
-					.mapToLong(History::extrapolateNextValue);
+			return history.mapToLong(History::extrapolateNextValue);
 		}
 
 		public LongStream extrapolatePreviousHistoryValue() {
-			return history.stream()
-					.mapToLong(History::extrapolatePreviousValue);
+			return history.mapToLong(History::extrapolatePreviousValue);
 		}
 	}
 
 	private record History(List<Long> values) {
 
-		public static History parse(String input) {
-			var values = Arrays.stream(input.split("\\s"))
-					.map(Long::parseLong)
-					.toList();
+		public static History parse(PuzzleInput input, int line) {
+			var values = PuzzleInput.parseLongs(input.line(line));
+
+			if (values.length == 0) {
+				throw new IllegalArgumentException("Expected a history of at least one value, got <%s>!".formatted(input.lineAsString(line)));
+			}
 
-			return new History(values);
+			return new History(Arrays.stream(values).boxed().toList());
 		}
 
 		public long extrapolateNextValue() {
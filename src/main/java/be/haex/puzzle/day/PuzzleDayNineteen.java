@@ -405,7 +405,7 @@ public class PuzzleDayNineteen implements Puzzle<Long> {
 		}
 
 		public int count() {
-			return maximum - minimum + 1;
+			return Math.max(0, maximum - minimum + 1);
 		}
 	}
 }
@@ -8,6 +8,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.joining;
 
@@ -27,6 +28,16 @@ public class PuzzleDayOne implements Puzzle<Integer> {
 		this(INPUT_FILE_NAME, INPUT_FILE_NAME);
 	}
 
+	@Override
+	public String partOneInputFileName() {
+		return partOneInputFileName;
+	}
+
+	@Override
+	public String partTwoInputFileName() {
+		return partTwoInputFileName;
+	}
+
 	@Override
 	public Integer solvePartOne() {
 		var calibrationStrategy = new NoneCalibrationStrategy();
@@ -35,10 +46,9 @@ public class PuzzleDayOne implements Puzzle<Integer> {
 				.sumCalibrationValues(calibrationStrategy);
 	}
 
-	private List<CalibrationDocument.Line> readCalibrationLines(String fileName) {
+	private Stream<CalibrationDocument.Line> readCalibrationLines(String fileName) {
 		return streamPuzzleInput(fileName)
-				.map(CalibrationDocument.Line::new)
-				.toList();
+				.map(CalibrationDocument.Line::new);
 	}
 
 	@Override
@@ -49,16 +59,18 @@ public class PuzzleDayOne implements Puzzle<Integer> {
 				.sumCalibrationValues(calibrationStrategy);
 	}
 
-	private record CalibrationDocument(List<Line> lines) {
+	private record CalibrationDocument(Supplier<Stream<Line>> lines) {
 
-		public static CalibrationDocument from(Supplier<List<Line>> reader) {
-			return new CalibrationDocument(reader.get());
+		public static CalibrationDocument from(Supplier<Stream<Line>> reader) {
+			return new CalibrationDocument(reader);
 		}
 
 		public int sumCalibrationValues(UnaryOperator<String> calibrationStrategy) {
-			return lines.stream()
-					.mapToInt(line -> line.calibrationValue(calibrationStrategy))
-					.sum();
+			try (var calibrationLines = lines.get()) {
+				return calibrationLines
+						.mapToInt(line -> line.calibrationValue(calibrationStrategy))
+						.sum();
+			}
 		}
 
 		private record Line(String content) {
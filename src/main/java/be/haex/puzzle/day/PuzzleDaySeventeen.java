@@ -1,215 +1,169 @@
 package be.haex.puzzle.day;
 
 import be.haex.puzzle.Puzzle;
+import be.haex.puzzle.PuzzleInput;
+import be.haex.puzzle.grid.Grid;
+import be.haex.puzzle.util.BucketQueue;
 
 import java.util.Arrays;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.PriorityQueue;
-import java.util.StringJoiner;
-import java.util.function.BiPredicate;
-import java.util.function.Predicate;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
-
-import static java.util.function.Predicate.not;
 
 public class PuzzleDaySeventeen implements Puzzle<Integer> {
 
 	@Override
 	public Integer solvePartOne() {
 		return readCityMap()
-				.findMinimalHeatLossPath(
-						headingDetermined().and(maximumTimesHeadingInSameDirection(3)),
-						canAlwaysMakeATurn(),
-						arrivedAtEndOfMap()
-				);
+				.findMinimalHeatLossPath(new RunLength(1, 3));
 	}
 
 	private CityMap readCityMap() {
-		return CityMap.parse(readContentOfInputFile("puzzleDaySeventeen.txt"));
-	}
-
-	private Predicate<Path> headingDetermined() {
-		return path -> path.heading() != null;
-	}
-
-	private Predicate<Path> maximumTimesHeadingInSameDirection(int times) {
-		return path -> path.times() < times;
-	}
-
-	private Predicate<Path> canAlwaysMakeATurn() {
-		return path -> true;
-	}
-
-	private BiPredicate<Path, Integer[][]> arrivedAtEndOfMap() {
-		return (path, grid) -> path.position().x == grid.length - 1 && path.position().y == grid[path.position().x].length - 1;
+		return parsePuzzleInput("puzzleDaySeventeen.txt", CityMap.class, CityMap::parse);
 	}
 
 	@Override
 	public Integer solvePartTwo() {
-		var minimumTimesHeadingInSameDirection = minimumTimesHeadingInSameDirection(4);
-
 		return readCityMap()
-				.findMinimalHeatLossPath(
-						headingDetermined().and(maximumTimesHeadingInSameDirection(10)),
-						not(headingDetermined()).or(minimumTimesHeadingInSameDirection),
-						arrivedAtEndOfMap().and((path, grid) -> minimumTimesHeadingInSameDirection.test(path))
-				);
+				.findMinimalHeatLossPath(new RunLength(4, 10));
 	}
 
-	private Predicate<Path> minimumTimesHeadingInSameDirection(int times) {
-		return path -> path.times() >= times;
-	}
-
-	private record CityMap(Integer[][] cityBlocks) {
+	private record CityMap(Grid cityBlocks) {
 
-		public static CityMap parse(List<String> input) {
-			var cityBlocks = new Integer[input.size()][input.getFirst().length()];
+		private static final int MAXIMUM_HEAT_LOSS = 9;
 
-			IntStream.range(0, input.size())
-					.forEach(rowIndex -> {
-						var row = input.get(rowIndex);
+		public static CityMap parse(PuzzleInput input) {
+			var cityBlocks = Grid.parse(input);
 
-						IntStream.range(0, row.length())
-								.forEach(columnIndex -> cityBlocks[rowIndex][columnIndex] = Character.getNumericValue(row.charAt(columnIndex)));
-					});
+			for (var index = 0; index < cityBlocks.size(); index++) {
+				if (cityBlocks.get(index) < '0' || cityBlocks.get(index) > '9') {
+					throw new IllegalArgumentException("Invalid heat loss: " + (char) cityBlocks.get(index));
+				}
+			}
 
 			return new CityMap(cityBlocks);
 		}
 
-		public int findMinimalHeatLossPath(Predicate<Path> canContinueInSameHeading, Predicate<Path> canMakeTurn, BiPredicate<Path, Integer[][]> canStop) {
-			var settled = new HashSet<Path>();
-			var unsettled = new PriorityQueue<Path>();
+		public int findMinimalHeatLossPath(RunLength runLength) {
+			return new HeatLossSearch(cityBlocks, runLength).run();
+		}
+	}
 
-			unsettled.add(new Path(new Position(0, 0), null, 0, 0));
+	/**
+	 * The number of blocks a crucible has to move in the same direction before it may turn or stop,
+	 * and the number after which it has to turn.
+	 */
+	private record RunLength(int minimum, int maximum) {
 
-			while (!unsettled.isEmpty()) {
-				var path = unsettled.poll();
+		private RunLength {
+			if (minimum < 1 || maximum < minimum) {
+				throw new IllegalArgumentException("Expected 1 <= minimum <= maximum, got <%d, %d>!".formatted(minimum, maximum));
+			}
+		}
+	}
 
-				if (canStop.test(path, cityBlocks)) {
-					return path.heatLoss();
-				} else if (!settled.contains(path)) {
-					settled.add(path);
+	/**
+	 * Dijkstra over (position, heading, run length) states encoded as one int, with the lowest heat
+	 * loss per state in a dense {@code int[]} and a bucket queue, as every step loses between 0 and 9
+	 * heat.
+	 */
+	private static final class HeatLossSearch {
+
+		private final Grid cityBlocks;
+		private final RunLength runLength;
+		private final int[] heatLoss;
+		private final BucketQueue queue;
+
+		private HeatLossSearch(Grid cityBlocks, RunLength runLength) {
+			this.cityBlocks = cityBlocks;
+			this.runLength = runLength;
+			this.heatLoss = new int[Math.multiplyExact(cityBlocks.size(), Direction.values().length * runLength.maximum())];
+			this.queue = new BucketQueue(CityMap.MAXIMUM_HEAT_LOSS);
+
+			Arrays.fill(heatLoss, Integer.MAX_VALUE);
+		}
 
-					if (canContinueInSameHeading.test(path)) {
-						move(path, path.heading()).ifPresent(unsettled::add);
-					}
+		private int run() {
+			var end = cityBlocks.size() - 1;
+			if (end == 0) {
+				return 0;
+			}
 
-					if (canMakeTurn.test(path)) {
-						turn(path).forEach(unsettled::add);
-					}
-				}
+			for (var heading : Direction.values()) {
+				move(0, heading, 1, 0);
 			}
 
-			return 0;
-		}
+			while (!queue.isEmpty()) {
+				Puzzle.checkpoint();
 
-		private Optional<Path> move(Path path, Direction heading) {
-			var nextPosition = path.position().move(heading);
-
-			if (withinMap(nextPosition)) {
-				return Optional.of(new Path(
-						nextPosition,
-						heading,
-						path.heading() == heading ? path.times() + 1 : 1,
-						path.heatLoss() + cityBlocks[nextPosition.x()][nextPosition.y()]
-				));
-			} else {
-				return Optional.empty();
-			}
-		}
+				var state = queue.poll();
+				var loss = queue.priority();
 
-		private boolean withinMap(Position position) {
-			return position.x() >= 0 && position.x() < cityBlocks.length
-					&& position.y() >= 0 && position.y() < cityBlocks[position.x()].length;
-		}
+				if (loss != heatLoss[state]) {
+					continue;
+				}
 
-		private Stream<Path> turn(Path path) {
-			return Arrays.stream(Direction.values())
-					.filter(not(sameHeadingAs(path)))
-					.filter(not(oppositeHeadingAs(path)))
-					.map(heading -> move(path, heading))
-					.flatMap(Optional::stream);
-		}
+				var times = state % runLength.maximum() + 1;
+				var heading = Direction.values()[state / runLength.maximum() % Direction.values().length];
+				var position = state / runLength.maximum() / Direction.values().length;
 
-		private Predicate<Direction> sameHeadingAs(Path path) {
-			return direction -> direction == path.heading();
-		}
+				if (times >= runLength.minimum()) {
+					if (position == end) {
+						return loss;
+					}
 
-		private Predicate<Direction> oppositeHeadingAs(Path path) {
-			return direction -> direction.opposite() == path.heading();
-		}
+					move(position, heading.turnLeft(), 1, loss);
+					move(position, heading.turnRight(), 1, loss);
+				}
 
-		@Override
-		public boolean equals(Object o) {
-			if (this == o) return true;
-			if (o == null || getClass() != o.getClass()) return false;
-			CityMap cityMap = (CityMap) o;
-			return Arrays.deepEquals(cityBlocks, cityMap.cityBlocks);
-		}
+				if (times < runLength.maximum()) {
+					move(position, heading, times + 1, loss);
+				}
+			}
 
-		@Override
-		public int hashCode() {
-			return Arrays.deepHashCode(cityBlocks);
+			return 0;
 		}
 
-		@Override
-		public String toString() {
-			return new StringJoiner(", ", CityMap.class.getSimpleName() + "[", "]")
-					.add("cityBlocks=" + Arrays.toString(cityBlocks))
-					.toString();
+		private void move(int position, Direction heading, int times, int loss) {
+			var nextPosition = cityBlocks.neighbour(position, heading.rowDelta(), heading.columnDelta());
+
+			if (nextPosition >= 0) {
+				var nextState = (nextPosition * Direction.values().length + heading.ordinal()) * runLength.maximum() + times - 1;
+				var nextLoss = loss + cityBlocks.get(nextPosition) - '0';
+
+				if (nextLoss < heatLoss[nextState]) {
+					heatLoss[nextState] = nextLoss;
+					queue.add(nextState, nextLoss);
+				}
+			}
 		}
 	}
 
 	private enum Direction {
-		NORTH,
-		EAST,
-		SOUTH,
-		WEST;
-
-		public Direction opposite() {
-			return switch (this) {
-				case NORTH -> SOUTH;
-				case EAST -> WEST;
-				case SOUTH -> NORTH;
-				case WEST -> EAST;
-			};
-		}
-	}
+		NORTH(-1, 0),
+		EAST(0, 1),
+		SOUTH(1, 0),
+		WEST(0, -1);
 
-	private record Path(Position position, Direction heading, int times, int heatLoss) implements Comparable<Path> {
+		private final int rowDelta;
+		private final int columnDelta;
 
-		@Override
-		public int compareTo(Path o) {
-			return Integer.compare(heatLoss, o.heatLoss);
+		Direction(int rowDelta, int columnDelta) {
+			this.rowDelta = rowDelta;
+			this.columnDelta = columnDelta;
 		}
 
-		@Override
-		public boolean equals(Object o) {
-			if (this == o) return true;
-			if (o == null || getClass() != o.getClass()) return false;
-			Path path = (Path) o;
-			return times == path.times && Objects.equals(position, path.position) && Objects.equals(heading, path.heading);
+		public int rowDelta() {
+			return rowDelta;
 		}
 
-		@Override
-		public int hashCode() {
-			return Objects.hash(position, heading, times);
+		public int columnDelta() {
+			return columnDelta;
 		}
-	}
 
-	private record Position(int x, int y) {
+		public Direction turnLeft() {
+			return values()[(ordinal() + 3) % 4];
+		}
 
-		private Position move(Direction direction) {
-			return switch (direction) {
-				case NORTH -> new Position(x - 1, y);
-				case EAST -> new Position(x, y + 1);
-				case SOUTH -> new Position(x + 1, y);
-				case WEST -> new Position(x, y - 1);
-			};
+		public Direction turnRight() {
+			return values()[(ordinal() + 1) % 4];
 		}
 	}
 }
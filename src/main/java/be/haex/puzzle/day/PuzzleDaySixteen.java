@@ -1,28 +1,45 @@
 package be.haex.puzzle.day;
 
 import be.haex.puzzle.Puzzle;
+import be.haex.puzzle.PuzzleInput;
+import be.haex.puzzle.grid.Grid;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Optional;
-import java.util.StringJoiner;
-import java.util.function.IntFunction;
-import java.util.regex.Pattern;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 public class PuzzleDaySixteen implements Puzzle<Long> {
 
+	private static final String INPUT_FILE_NAME = "puzzleDaySixteen.txt";
+
+	private final String fileName;
+
+	PuzzleDaySixteen(String fileName) {
+		this.fileName = fileName;
+	}
+
+	public PuzzleDaySixteen() {
+		this(INPUT_FILE_NAME);
+	}
+
+	@Override
+	public String inputFileName() {
+		return fileName;
+	}
+
 	@Override
 	public Long solvePartOne() {
 		return readContraption()
-				.countEnergizedTiles(new Position(0, 0), Direction.EAST);
+				.countEnergizedTiles(0, Direction.EAST);
 	}
 
 	private Contraption readContraption() {
-		return Contraption.parse(readContentOfInputFile("puzzleDaySixteen.txt"));
+		return parsePuzzleInput(fileName, Contraption.class, Contraption::parse);
 	}
 
 	@Override
@@ -31,247 +48,416 @@ public class PuzzleDaySixteen implements Puzzle<Long> {
 				.largestCountEnergizedTiles();
 	}
 
-	private record Contraption(Tile[][] tiles) {
+	private record Contraption(Grid tiles) {
 
-		public static Contraption parse(List<String> input) {
-			var tiles = new Tile[input.size()][input.getFirst().length()];
+		public static Contraption parse(PuzzleInput input) {
+			var tiles = Grid.parse(input);
 
-			for (var rowIndex = 0; rowIndex < input.size(); rowIndex++) {
-				var row = input.get(rowIndex);
-
-				for (var columnIndex = 0; columnIndex < row.length(); columnIndex++) {
-					var character = row.charAt(columnIndex) + "";
-
-					tiles[rowIndex][columnIndex] = Tile.Empty.parse(character)
-							.or(() -> Tile.Mirror.parse(character))
-							.or(() -> Tile.Splitter.parse(character))
-							.orElseThrow(() -> new IllegalArgumentException("Invalid tile: " + character));
-				}
+			for (var index = 0; index < tiles.size(); index++) {
+				Tile.from(tiles.get(index));
 			}
 
 			return new Contraption(tiles);
 		}
 
-		public long countEnergizedTiles(Position startingPosition, Direction heading) {
-			var instructions = new LinkedList<Instruction>();
-			var pastInstructions = new HashSet<Instruction>();
-
-			instructions.add(new Instruction(startingPosition, heading));
-
-			while (!instructions.isEmpty()) {
-				var currentInstruction = instructions.poll();
-				var currentPosition = currentInstruction.position();
-				var currentTile = tiles[currentPosition.x()][currentPosition.y()];
-
-				pastInstructions.add(currentInstruction);
-
-				var directions = currentTile.determineDirections(currentInstruction.direction());
-				for (var direction : directions) {
-					var nextInstruction = currentInstruction.next(direction);
-
-					if (withinTiles(nextInstruction) && !pastInstructions.contains(nextInstruction)) {
-						instructions.add(nextInstruction);
-					}
-				}
-			}
-
-			return pastInstructions.stream()
-					.map(Instruction::position)
-					.distinct()
-					.count();
-		}
-
-		private boolean withinTiles(Instruction instruction) {
-			var position = instruction.position();
-
-			return position.x() >= 0 && position.x() < tiles.length
-					&& position.y() >= 0 && position.y() < tiles[position.x()].length;
+		public long countEnergizedTiles(int startingPosition, Direction heading) {
+			return new BeamGraph(tiles).countEnergizedTiles(startingPosition, heading);
 		}
 
 		public long largestCountEnergizedTiles() {
+			var beams = new BeamGraph(tiles);
+
 			return Stream.of(
-							largestCountEnergizedTilesFromTheNorth(),
-							largestCountEnergizedTilesFromTheEast(),
-							largestCountEnergizedTilesFromTheSouth(),
-							largestCountEnergizedTilesFromTheWest()
+							largestCountEnergizedTilesFromTheNorth(beams),
+							largestCountEnergizedTilesFromTheEast(beams),
+							largestCountEnergizedTilesFromTheSouth(beams),
+							largestCountEnergizedTilesFromTheWest(beams)
 					)
 					.max(Long::compareTo)
 					.orElse(0L);
 		}
 
-		private long largestCountEnergizedTilesFromTheNorth() {
+		private long largestCountEnergizedTilesFromTheNorth(BeamGraph beams) {
 			return largestCountEnergizedTiles(
-					tiles[0].length,
-					index -> new Position(0, index),
+					beams,
+					tiles.columns(),
+					column -> tiles.index(0, column),
 					Direction.SOUTH
 			);
 		}
 
-		private long largestCountEnergizedTiles(int endExclusive, IntFunction<Position> positionCreator, Direction heading) {
+		private long largestCountEnergizedTiles(BeamGraph beams, int endExclusive, IntUnaryOperator positionCreator, Direction heading) {
 			return IntStream.range(0, endExclusive)
-					.parallel()
-					.mapToLong(index -> countEnergizedTiles(positionCreator.apply(index), heading))
+					.mapToLong(index -> beams.countEnergizedTiles(positionCreator.applyAsInt(index), heading))
 					.max()
 					.orElse(0);
 		}
 
-		private long largestCountEnergizedTilesFromTheEast() {
+		private long largestCountEnergizedTilesFromTheEast(BeamGraph beams) {
 			return largestCountEnergizedTiles(
-					tiles.length,
-					index -> new Position(index, tiles[index].length - 1),
+					beams,
+					tiles.rows(),
+					row -> tiles.index(row, tiles.columns() - 1),
 					Direction.WEST
 			);
 		}
 
-		private long largestCountEnergizedTilesFromTheSouth() {
+		private long largestCountEnergizedTilesFromTheSouth(BeamGraph beams) {
 			return largestCountEnergizedTiles(
-					tiles[0].length,
-					index -> new Position(tiles.length - 1, index),
+					beams,
+					tiles.columns(),
+					column -> tiles.index(tiles.rows() - 1, column),
 					Direction.NORTH
 			);
 		}
 
-		private long largestCountEnergizedTilesFromTheWest() {
+		private long largestCountEnergizedTilesFromTheWest(BeamGraph beams) {
 			return largestCountEnergizedTiles(
-					tiles.length,
-					index -> new Position(index, 0),
+					beams,
+					tiles.rows(),
+					row -> tiles.index(row, 0),
 					Direction.EAST
 			);
 		}
+	}
 
-		@Override
-		public boolean equals(Object o) {
-			if (this == o) return true;
-			if (o == null || getClass() != o.getClass()) return false;
-			Contraption that = (Contraption) o;
-			return Arrays.deepEquals(tiles, that.tiles);
+	/**
+	 * The paths of all beams, shared by every launch. A node is a beam hitting a mirror or splitter with
+	 * a given heading, and its edges are the straight runs of empty tiles to the next hit or the edge of
+	 * the contraption. Beams loop, so the strongly connected components of this graph are condensed with
+	 * Tarjan's algorithm, and every loop keeps the set of tiles energised from it: its own tiles and runs,
+	 * plus everything it leads to, which Tarjan's algorithm always completes first.
+	 * <p>
+	 * A launch walks the hits from where it enters and takes over the set of every loop it reaches, so
+	 * the tiles of a loop are traced once instead of once per launch. Hits outside loops keep no set of
+	 * their own, as a set of every tile per hit does not fit in memory on big contraptions.
+	 */
+	private static final class BeamGraph {
+
+		private static final int UNVISITED = -1;
+		private static final int EMPTY_TILE = -1;
+		private static final int LEAVES_CONTRAPTION = -1;
+		private static final int NO_EDGE = -2;
+		private static final int DIRECTIONS = Direction.values().length;
+
+		private final Grid tiles;
+		private final int[] hitOfTile;
+		private final int[] tileOfNode;
+		private final int[] successors;
+		private final Direction[] edgeHeadings;
+		private final int[] order;
+		private final int[] lowLink;
+		private final int[] componentOfNode;
+		private final int[] energizedAt;
+		private final List<BitSet> energizedPerLoop = new ArrayList<>();
+		private final IntStack path;
+		private final IntStack nextEdges;
+		private final IntStack componentStack;
+		private final IntStack hitsToEnergize;
+		private int visitedNodes;
+		private int stamp;
+
+		BeamGraph(Grid tiles) {
+			this.tiles = tiles;
+			this.hitOfTile = new int[tiles.size()];
+
+			var hits = 0;
+			for (var position = 0; position < tiles.size(); position++) {
+				hitOfTile[position] = Tile.from(tiles.get(position)) == Tile.EMPTY ? EMPTY_TILE : hits++;
+			}
+
+			var nodes = hits * DIRECTIONS;
+			this.tileOfNode = new int[nodes];
+			this.successors = new int[nodes * 2];
+			this.edgeHeadings = new Direction[nodes * 2];
+			this.order = new int[nodes];
+			this.lowLink = new int[nodes];
+			this.componentOfNode = new int[nodes];
+			this.path = new IntStack(nodes);
+			this.nextEdges = new IntStack(nodes);
+			this.componentStack = new IntStack(nodes);
+			this.hitsToEnergize = new IntStack(nodes);
+			this.energizedAt = new int[nodes];
+
+			Arrays.fill(order, UNVISITED);
+			Arrays.fill(successors, NO_EDGE);
+
+			for (var position = 0; position < tiles.size(); position++) {
+				if (hitOfTile[position] != EMPTY_TILE) {
+					connect(position);
+				}
+			}
 		}
 
-		@Override
-		public int hashCode() {
-			return Arrays.deepHashCode(tiles);
+		private void connect(int position) {
+			for (var heading : Direction.values()) {
+				var node = node(position, heading);
+				var directions = Tile.from(tiles.get(position)).determineDirections(heading);
+				tileOfNode[node] = position;
+
+				for (var edge = 0; edge < directions.size(); edge++) {
+					var direction = directions.get(edge);
+					var hit = follow(next(position, direction), direction, tile -> {
+					});
+
+					edgeHeadings[node * 2 + edge] = direction;
+					successors[node * 2 + edge] = hit < 0 ? LEAVES_CONTRAPTION : node(hit, direction);
+				}
+			}
 		}
 
-		@Override
-		public String toString() {
-			return new StringJoiner(", ", Contraption.class.getSimpleName() + "[", "]")
-					.add("tiles=" + Arrays.toString(tiles))
-					.toString();
+		private int node(int position, Direction heading) {
+			return hitOfTile[position] * DIRECTIONS + heading.ordinal();
 		}
-	}
 
-	private sealed interface Tile permits Tile.Empty, Tile.Mirror, Tile.Splitter {
+		private int next(int position, Direction heading) {
+			return tiles.neighbour(position, heading.rowDelta(), heading.columnDelta());
+		}
 
-		List<Direction> determineDirections(Direction direction);
+		/**
+		 * Follows a beam from {@code position} through empty tiles, passing each of them to
+		 * {@code energize}, and returns the tile where it hits a mirror or splitter, or -1 when it leaves
+		 * the contraption.
+		 */
+		private int follow(int position, Direction heading, IntConsumer energize) {
+			while (position >= 0 && hitOfTile[position] == EMPTY_TILE) {
+				energize.accept(position);
+				position = next(position, heading);
+			}
 
-		record Empty() implements Tile {
+			return position;
+		}
 
-			private static final String DOT = ".";
-			private static final Pattern PATTERN = Pattern.compile("\\%s".formatted(DOT));
+		public long countEnergizedTiles(int startingPosition, Direction heading) {
+			var energized = new BitSet(tiles.size());
+			var hit = follow(startingPosition, heading, energized::set);
 
-			public static Optional<Tile> parse(String value) {
-				if (PATTERN.matcher(value).matches()) {
-					return Optional.of(new Empty());
-				} else {
-					return Optional.empty();
+			if (hit >= 0) {
+				var node = node(hit, heading);
+				if (order[node] == UNVISITED) {
+					condense(node);
 				}
-			}
 
-			@Override
-			public List<Direction> determineDirections(Direction direction) {
-				return List.of(direction);
+				energize(node, energized);
 			}
 
-			@Override
-			public String toString() {
-				return DOT;
-			}
+			return energized.cardinality();
 		}
 
-		record Mirror(String value) implements Tile {
+		/**
+		 * Adds every tile energised by a beam hitting {@code start}, walking hit by hit until it reaches a
+		 * loop whose tiles are already known.
+		 */
+		private void energize(int start, BitSet energized) {
+			stamp++;
+			hitsToEnergize.push(start);
 
-			private static final String DOWNWARDS = "\\";
-			private static final String UPWARDS = "/";
-			private static final Pattern PATTERN = Pattern.compile("^[\\%s\\%s]$".formatted(DOWNWARDS, UPWARDS));
+			while (!hitsToEnergize.isEmpty()) {
+				Puzzle.checkpoint();
 
-			public static Optional<Tile> parse(String value) {
-				if (PATTERN.matcher(value).matches()) {
-					return Optional.of(new Mirror(value));
-				} else {
-					return Optional.empty();
+				var node = hitsToEnergize.pop();
+				if (energizedAt[node] == stamp) {
+					continue;
 				}
-			}
+				energizedAt[node] = stamp;
 
-			@Override
-			public List<Direction> determineDirections(Direction direction) {
-				return List.of(switch (direction) {
-					case NORTH -> value.equals(DOWNWARDS) ? Direction.WEST : Direction.EAST;
-					case EAST -> value.equals(DOWNWARDS) ? Direction.SOUTH : Direction.NORTH;
-					case SOUTH -> value.equals(DOWNWARDS) ? Direction.EAST : Direction.WEST;
-					case WEST -> value.equals(DOWNWARDS) ? Direction.NORTH : Direction.SOUTH;
-				});
-			}
+				var component = componentOfNode[node];
+				if (component != UNVISITED && energizedPerLoop.get(component) != null) {
+					energized.or(energizedPerLoop.get(component));
+					continue;
+				}
+
+				energized.set(tileOfNode[node]);
 
-			@Override
-			public String toString() {
-				return value;
+				for (var edge = 0; edge < 2; edge++) {
+					var successor = successors[node * 2 + edge];
+					if (successor == NO_EDGE) {
+						continue;
+					}
+
+					follow(next(tileOfNode[node], edgeHeadings[node * 2 + edge]), edgeHeadings[node * 2 + edge], energized::set);
+					if (successor >= 0) {
+						hitsToEnergize.push(successor);
+					}
+				}
 			}
 		}
 
-		record Splitter(String value) implements Tile {
+		/**
+		 * Tarjan's algorithm from {@code root}, with an explicit stack of nodes and the index of the next
+		 * edge to follow, as beams can run through thousands of hits before they loop.
+		 */
+		private void condense(int root) {
+			visit(root);
+			path.push(root);
+			nextEdges.push(0);
+
+			while (!path.isEmpty()) {
+				Puzzle.checkpoint();
+
+				var node = path.peek();
+				var edge = nextEdges.pop();
 
-			private static final String HORIZONTAL = "-";
-			private static final String VERTICAL = "|";
-			private static final Pattern PATTERN = Pattern.compile("^[%s%s]$".formatted(HORIZONTAL, VERTICAL));
+				if (edge < 2) {
+					nextEdges.push(edge + 1);
 
-			public static Optional<Tile> parse(String value) {
-				if (PATTERN.matcher(value).matches()) {
-					return Optional.of(new Splitter(value));
-				} else {
-					return Optional.empty();
+					var successor = successors[node * 2 + edge];
+					if (successor < 0) {
+						continue;
+					}
+
+					if (order[successor] == UNVISITED) {
+						visit(successor);
+						path.push(successor);
+						nextEdges.push(0);
+					} else if (componentOfNode[successor] == UNVISITED) {
+						lowLink[node] = Math.min(lowLink[node], order[successor]);
+					}
+					continue;
 				}
-			}
 
-			@Override
-			public List<Direction> determineDirections(Direction direction) {
-				return switch (direction) {
-					case NORTH, SOUTH ->
-							value.equals(VERTICAL) ? List.of(direction) : List.of(Direction.EAST, Direction.WEST);
-					case EAST, WEST ->
-							value.equals(HORIZONTAL) ? List.of(direction) : List.of(Direction.NORTH, Direction.SOUTH);
-				};
+				path.pop();
+				if (!path.isEmpty()) {
+					lowLink[path.peek()] = Math.min(lowLink[path.peek()], lowLink[node]);
+				}
+				if (lowLink[node] == order[node]) {
+					completeComponent(node);
+				}
 			}
+		}
 
-			@Override
-			public String toString() {
-				return value;
+		private void visit(int node) {
+			order[node] = visitedNodes;
+			lowLink[node] = visitedNodes;
+			componentOfNode[node] = UNVISITED;
+			visitedNodes++;
+			componentStack.push(node);
+		}
+
+		/**
+		 * Pops the component of {@code root}. Every component it leads to is complete by now, so a loop
+		 * gets its tiles right away; a single hit is cheap to walk again and keeps no tiles of its own.
+		 */
+		private void completeComponent(int root) {
+			var component = energizedPerLoop.size();
+			var size = 0;
+
+			int member;
+			do {
+				member = componentStack.pop();
+				componentOfNode[member] = component;
+				size++;
+			} while (member != root);
+
+			energizedPerLoop.add(null);
+
+			if (size > 1) {
+				var energized = new BitSet(tiles.size());
+				energize(root, energized);
+				energizedPerLoop.set(component, energized);
 			}
 		}
 	}
 
-	private record Position(int x, int y) {
+	private static final class IntStack {
 
-		private Position move(Direction direction) {
-			return switch (direction) {
-				case NORTH -> new Position(x - 1, y);
-				case EAST -> new Position(x, y + 1);
-				case SOUTH -> new Position(x + 1, y);
-				case WEST -> new Position(x, y - 1);
-			};
+		private int[] items;
+		private int size;
+
+		IntStack(int capacity) {
+			this.items = new int[Math.max(capacity, 1)];
+		}
+
+		void push(int item) {
+			if (size == items.length) {
+				items = Arrays.copyOf(items, size * 2);
+			}
+
+			items[size++] = item;
+		}
+
+		int pop() {
+			return items[--size];
+		}
+
+		int peek() {
+			return items[size - 1];
+		}
+
+		int size() {
+			return size;
+		}
+
+		boolean isEmpty() {
+			return size == 0;
 		}
 	}
 
-	private record Instruction(Position position, Direction direction) {
+	private enum Tile {
+		EMPTY,
+		MIRROR_DOWNWARDS,
+		MIRROR_UPWARDS,
+		SPLITTER_HORIZONTAL,
+		SPLITTER_VERTICAL;
+
+		public static Tile from(byte code) {
+			return switch (code) {
+				case '.' -> EMPTY;
+				case '\\' -> MIRROR_DOWNWARDS;
+				case '/' -> MIRROR_UPWARDS;
+				case '-' -> SPLITTER_HORIZONTAL;
+				case '|' -> SPLITTER_VERTICAL;
+				default -> throw new IllegalArgumentException("Invalid tile: " + (char) code);
+			};
+		}
 
-		public Instruction next(Direction direction) {
-			return new Instruction(position.move(direction), direction);
+		public List<Direction> determineDirections(Direction direction) {
+			return switch (this) {
+				case EMPTY -> List.of(direction);
+				case MIRROR_DOWNWARDS -> List.of(switch (direction) {
+					case NORTH -> Direction.WEST;
+					case EAST -> Direction.SOUTH;
+					case SOUTH -> Direction.EAST;
+					case WEST -> Direction.NORTH;
+				});
+				case MIRROR_UPWARDS -> List.of(switch (direction) {
+					case NORTH -> Direction.EAST;
+					case EAST -> Direction.NORTH;
+					case SOUTH -> Direction.WEST;
+					case WEST -> Direction.SOUTH;
+				});
+				case SPLITTER_HORIZONTAL -> switch (direction) {
+					case NORTH, SOUTH -> List.of(Direction.EAST, Direction.WEST);
+					case EAST, WEST -> List.of(direction);
+				};
+				case SPLITTER_VERTICAL -> switch (direction) {
+					case NORTH, SOUTH -> List.of(direction);
+					case EAST, WEST -> List.of(Direction.NORTH, Direction.SOUTH);
+				};
+			};
 		}
 	}
 
 	private enum Direction {
-		NORTH,
-		EAST,
-		SOUTH,
-		WEST
+		NORTH(-1, 0),
+		EAST(0, 1),
+		SOUTH(1, 0),
+		WEST(0, -1);
+
+		private final int rowDelta;
+		private final int columnDelta;
+
+		Direction(int rowDelta, int columnDelta) {
+			this.rowDelta = rowDelta;
+			this.columnDelta = columnDelta;
+		}
+
+		public int rowDelta() {
+			return rowDelta;
+		}
+
+		public int columnDelta() {
+			return columnDelta;
+		}
 	}
 }
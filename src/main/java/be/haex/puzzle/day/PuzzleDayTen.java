@@ -1,16 +1,9 @@
 package be.haex.puzzle.day;
 
 import be.haex.puzzle.Puzzle;
-
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
-import java.util.StringJoiner;
-import java.util.function.Predicate;
-import java.util.stream.Stream;
+import be.haex.puzzle.PuzzleInput;
+import be.haex.puzzle.grid.BreadthFirstSearch;
+import be.haex.puzzle.grid.Grid;
 
 public class PuzzleDayTen implements Puzzle<Long> {
 
@@ -28,6 +21,16 @@ public class PuzzleDayTen implements Puzzle<Long> {
 		this(INPUT_FILE_NAME, INPUT_FILE_NAME);
 	}
 
+	@Override
+	public String partOneInputFileName() {
+		return partOneInputFileName;
+	}
+
+	@Override
+	public String partTwoInputFileName() {
+		return partTwoInputFileName;
+	}
+
 	@Override
 	public Long solvePartOne() {
 		return readField(partOneInputFileName)
@@ -36,7 +39,7 @@ public class PuzzleDayTen implements Puzzle<Long> {
 	}
 
 	private Field readField(String fileName) {
-		return Field.parse(readContentOfInputFile(fileName));
+		return Field.parse(readPuzzleInput(fileName));
 	}
 
 	@Override
@@ -46,267 +49,142 @@ public class PuzzleDayTen implements Puzzle<Long> {
 				.countEnclosedTiles();
 	}
 
-	private record Field(Pipe[][] pipes, Position startingPosition) {
-
-		public static Field parse(List<String> input) {
-			var pipes = new Pipe[input.size()][input.getFirst().length()];
-			Position startingPosition = null;
-
-			for (var rowIndex = 0; rowIndex < input.size(); rowIndex++) {
-				var row = input.get(rowIndex);
+	/**
+	 * The tiles of the input surrounded by a border of ground, each cell holding the {@link Pipe}
+	 * directions its pipe connects to, so neighbours are found by index arithmetic without bounds checks.
+	 */
+	private record Field(Grid connections, int startingPosition) {
 
-				for (var columnIndex = 0; columnIndex < row.length(); columnIndex++) {
-					var pipe = Pipe.from(row.charAt(columnIndex));
+		private static final byte GROUND = '.';
+		private static final byte STARTING_POSITION = 'S';
 
-					pipes[rowIndex][columnIndex] = pipe;
+		public static Field parse(PuzzleInput input) {
+			var tiles = Grid.parse(input).padded(1, GROUND);
+			var connections = Grid.filled(tiles.rows(), tiles.columns(), Pipe.NONE);
 
-					if (pipe == Pipe.STARTING_POSITION) {
-						startingPosition = new Position(rowIndex, columnIndex);
-					}
-				}
+			for (var cell = 0; cell < tiles.size(); cell++) {
+				connections.set(cell, Pipe.connections(tiles.get(cell)));
 			}
 
-			return new Field(pipes, startingPosition);
+			return new Field(connections, tiles.indexOf(STARTING_POSITION));
 		}
 
 		public Field replaceStartingPoint() {
-			var startingPointReplacementPipe = determineStartingPointReplacementPipe();
-			var pipesClone = Arrays.stream(pipes).map(Pipe[]::clone).toArray(Pipe[][]::new);
-			pipesClone[startingPosition.x()][startingPosition().y()] = startingPointReplacementPipe;
+			var steps = steps();
+			var startingPointReplacementPipe = 0;
 
-			return new Field(pipesClone, startingPosition);
-		}
+			for (var direction = 0; direction < Pipe.DIRECTIONS.length; direction++) {
+				var neighbour = connections.get(startingPosition + steps[direction]);
 
-		private Pipe determineStartingPointReplacementPipe() {
-			var startingPointReplacementPipes = Stream.of(
-							determineConnectionBetween(startingPosition, Direction.NORTH, Direction.EAST),
-							determineConnectionBetween(startingPosition, Direction.NORTH, Direction.SOUTH),
-							determineConnectionBetween(startingPosition, Direction.NORTH, Direction.WEST),
-							determineConnectionBetween(startingPosition, Direction.EAST, Direction.WEST),
-							determineConnectionBetween(startingPosition, Direction.EAST, Direction.SOUTH),
-							determineConnectionBetween(startingPosition, Direction.SOUTH, Direction.WEST)
-					)
-					.flatMap(Optional::stream)
-					.toList();
-
-			if (startingPointReplacementPipes.size() != 1) {
-				throw new IllegalStateException("Starting point replacement pipe not found");
-			} else {
-				return startingPointReplacementPipes.getFirst();
+				if ((neighbour & Pipe.opposite(Pipe.DIRECTIONS[direction])) != 0) {
+					startingPointReplacementPipe |= Pipe.DIRECTIONS[direction];
+				}
 			}
-		}
 
-		private Optional<Pipe> determineConnectionBetween(Position position, Direction firstDirection, Direction secondDirection) {
-			var firstPipe = getPipe(position.move(firstDirection));
-			var secondPipe = getPipe(position.move(secondDirection));
-
-			return Arrays.stream(Pipe.values())
-					.filter(pipe -> firstPipe.orElseThrow().connectedTo(pipe, firstDirection.opposite()) && secondPipe.orElseThrow().connectedTo(pipe, secondDirection.opposite()))
-					.findAny();
-		}
-
-		public long calculateMaximumDistance() {
-			var distances = calculateDistances();
-
-			return Arrays.stream(distances)
-					.flatMap(Arrays::stream)
-					.mapToLong(Long::valueOf)
-					.max()
-					.orElse(0);
-		}
-
-		private Long[][] calculateDistances() {
-			var distances = new Long[pipes.length][pipes[0].length];
-			for (var distance : distances) {
-				Arrays.fill(distance, -1L);
+			if (Integer.bitCount(startingPointReplacementPipe) != 2) {
+				throw new IllegalStateException("Starting point replacement pipe not found");
 			}
 
-			distances[startingPosition.x()][startingPosition.y()] = 0L;
-
-			var currentPosition = startingPosition;
-			var nextPositions = new ArrayList<>(determineNextPositions(startingPosition));
-			while (!nextPositions.isEmpty()) {
-				var currentDistance = distances[currentPosition.x()][currentPosition.y()];
-
-				nextPositions
-						.stream()
-						.filter(notCalculated(distances))
-						.forEach(nextPosition -> distances[nextPosition.x()][nextPosition.y()] = currentDistance + 1);
+			var connectionsClone = connections.copy();
+			connectionsClone.set(startingPosition, (byte) startingPointReplacementPipe);
 
-				currentPosition = nextPositions.removeFirst();
-
-				determineNextPositions(currentPosition).stream()
-						.filter(notCalculated(distances))
-						.forEach(nextPositions::add);
-			}
-
-			return distances;
+			return new Field(connectionsClone, startingPosition);
 		}
 
-		private List<Position> determineNextPositions(Position position) {
-			return Arrays.stream(Direction.values())
-					.filter(direction -> isConnected(position, direction))
-					.map(position::move)
-					.toList();
+		/**
+		 * The index distances of a step north, east, south and west, in the order of {@link Pipe#DIRECTIONS}.
+		 */
+		private int[] steps() {
+			return new int[]{
+					connections.offset(-1, 0),
+					connections.offset(0, 1),
+					connections.offset(1, 0),
+					connections.offset(0, -1)
+			};
 		}
 
-		private boolean isConnected(Position position, Direction direction) {
-			var nextPosition = position.move(direction);
-
-			return getPipe(nextPosition)
-					.map(pipe -> getPipe(position).orElseThrow().connectedTo(pipe, direction))
-					.orElse(false);
+		public long calculateMaximumDistance() {
+			return searchLoop().run();
 		}
 
-		private Optional<Pipe> getPipe(Position position) {
-			if (position.x() < 0 || position.x() >= pipes.length || position.y() < 0 || position.y() >= pipes[0].length) {
-				return Optional.empty();
-			} else {
-				return Optional.ofNullable(pipes[position.x()][position.y()]);
-			}
-		}
+		/**
+		 * A breadth-first search along the pipes connected to the starting position; its layers are the
+		 * distances along the loop and its visited cells are the loop itself.
+		 */
+		private BreadthFirstSearch searchLoop() {
+			var steps = steps();
+			var search = new BreadthFirstSearch(connections.size(), (cell, neighbour) -> {
+				var pipe = connections.get(cell);
 
-		private Predicate<Position> notCalculated(Long[][] distances) {
-			return position -> distances[position.x()][position.y()] == -1;
-		}
+				for (var direction = 0; direction < Pipe.DIRECTIONS.length; direction++) {
+					var next = cell + steps[direction];
 
-		public long countEnclosedTiles() {
-			var distances = calculateDistances();
-			var tiles = asTiles(distances);
+					if ((pipe & Pipe.DIRECTIONS[direction]) != 0
+							&& (connections.get(next) & Pipe.opposite(Pipe.DIRECTIONS[direction])) != 0) {
+						neighbour.accept(next);
+					}
+				}
+			});
 
-			return Arrays.stream(tiles)
-					.flatMap(Arrays::stream)
-					.filter(Tile::isEnclosed)
-					.count();
+			return search.start(startingPosition);
 		}
 
-		private Tile[][] asTiles(Long[][] distances) {
-			var tiles = new Tile[pipes.length][pipes[0].length];
+		/**
+		 * Scans every row from the left, flipping between outside and inside at each loop pipe that
+		 * connects north; the corners of a horizontal run cross the loop only when they bend opposite ways.
+		 */
+		public long countEnclosedTiles() {
+			var loop = searchLoop();
+			loop.run();
 
-			for (var rowIndex = 0; rowIndex < pipes.length; rowIndex++) {
-				var tile = Tile.outside();
-				for (var columnIndex = 0; columnIndex < pipes[0].length; columnIndex++) {
-					var position = new Position(rowIndex, columnIndex);
-					var pipe = getPipe(position).orElseThrow();
+			var enclosedTiles = 0L;
 
-					tile = distances[rowIndex][columnIndex] == -1
-							? tile.next()
-							: tile.next(pipe);
+			for (var row = 0; row < connections.rows(); row++) {
+				var inside = false;
 
-					tiles[rowIndex][columnIndex] = tile;
+				for (var cell = connections.index(row, 0); cell <= connections.index(row, connections.columns() - 1); cell++) {
+					if (!loop.visited(cell)) {
+						enclosedTiles += inside ? 1 : 0;
+					} else if ((connections.get(cell) & Pipe.NORTH) != 0) {
+						inside = !inside;
+					}
 				}
 			}
 
-			return tiles;
-		}
-
-		@Override
-		public boolean equals(Object o) {
-			if (this == o) return true;
-			if (o == null || getClass() != o.getClass()) return false;
-			Field field = (Field) o;
-			return Arrays.deepEquals(pipes, field.pipes) && Objects.equals(startingPosition, field.startingPosition);
-		}
-
-		@Override
-		public int hashCode() {
-			int result = Objects.hash(startingPosition);
-			result = 31 * result + Arrays.deepHashCode(pipes);
-			return result;
-		}
-
-		@Override
-		public String toString() {
-			return new StringJoiner(", ", Field.class.getSimpleName() + "[", "]")
-					.add("pipes=" + Arrays.toString(pipes))
-					.add("startingPosition=" + startingPosition)
-					.toString();
+			return enclosedTiles;
 		}
 	}
 
-	private enum Pipe {
-		VERTICAL('|', Direction.NORTH, Direction.SOUTH),
-		HORIZONTAL('-', Direction.EAST, Direction.WEST),
-		NINETY_DEGREE_BEND_NE('L', Direction.NORTH, Direction.EAST),
-		NINETY_DEGREE_BEND_NW('J', Direction.NORTH, Direction.WEST),
-		NINETY_DEGREE_BEND_SW('7', Direction.SOUTH, Direction.WEST),
-		NINETY_DEGREE_BEND_SE('F', Direction.SOUTH, Direction.EAST),
-		GROUND('.'),
-		STARTING_POSITION('S');
-
-		private final char character;
-		private final Set<Direction> directions;
-
-		Pipe(char character, Direction... directions) {
-			this.character = character;
-			this.directions = Set.of(directions);
-		}
-
-		public static Pipe from(char character) {
-			return Arrays.stream(values())
-					.filter(pipe -> pipe.character == character)
-					.findFirst()
-					.orElseThrow(() -> new IllegalArgumentException("No pipe found for character " + character));
-		}
-
-		public boolean connectedTo(Pipe other, Direction direction) {
-			return directions.contains(direction) &&
-					other.directions.contains(direction.opposite());
-		}
-	}
-
-	private enum Direction {
-		NORTH,
-		EAST,
-		SOUTH,
-		WEST;
-
-		public Direction opposite() {
-			return switch (this) {
-				case NORTH -> SOUTH;
-				case EAST -> WEST;
-				case SOUTH -> NORTH;
-				case WEST -> EAST;
-			};
-		}
-	}
-
-	private record Position(int x, int y) {
-
-		public Position move(Direction direction) {
-			return switch (direction) {
-				case NORTH -> new Position(x - 1, y);
-				case EAST -> new Position(x, y + 1);
-				case SOUTH -> new Position(x + 1, y);
-				case WEST -> new Position(x, y - 1);
-			};
-		}
-	}
-
-	private record Tile(boolean topLeft, boolean topRight, boolean bottomLeft, boolean bottomRight) {
-
-		public static Tile outside() {
-			return new Tile(false, false, false, false);
-		}
-
-		public Tile next() {
-			return new Tile(topRight, topRight, topRight, topRight);
-		}
-
-		public Tile next(Pipe pipe) {
-			return switch (pipe) {
-				case VERTICAL -> new Tile(topRight, !topRight, bottomLeft, !topRight);
-				case HORIZONTAL -> new Tile(topRight, topRight, !topRight, !topRight);
-				case NINETY_DEGREE_BEND_NE -> new Tile(topRight, !topRight, topRight, topRight);
-				case NINETY_DEGREE_BEND_SW -> new Tile(topRight, topRight, !topRight, topRight);
-				case NINETY_DEGREE_BEND_NW -> new Tile(topRight, !topRight, !topRight, !topRight);
-				case NINETY_DEGREE_BEND_SE -> new Tile(topRight, topRight, topRight, !topRight);
-				default -> throw new IllegalArgumentException("Pipe " + pipe + " not supported");
+	/**
+	 * The pipes as bitmasks of the directions they connect to.
+	 */
+	private static final class Pipe {
+
+		private static final byte NONE = 0;
+		private static final byte NORTH = 1;
+		private static final byte EAST = 1 << 1;
+		private static final byte SOUTH = 1 << 2;
+		private static final byte WEST = 1 << 3;
+		private static final byte[] DIRECTIONS = {NORTH, EAST, SOUTH, WEST};
+
+		private Pipe() {
+		}
+
+		public static byte connections(byte character) {
+			return switch (character) {
+				case '|' -> NORTH | SOUTH;
+				case '-' -> EAST | WEST;
+				case 'L' -> NORTH | EAST;
+				case 'J' -> NORTH | WEST;
+				case '7' -> SOUTH | WEST;
+				case 'F' -> SOUTH | EAST;
+				case '.', 'S' -> NONE;
+				default -> throw new IllegalArgumentException("No pipe found for character " + (char) character);
 			};
 		}
 
-		public boolean isEnclosed() {
-			return topLeft && topRight && bottomLeft && bottomRight;
+		public static int opposite(byte direction) {
+			return (direction << 2 | direction >>> 2) & (NORTH | EAST | SOUTH | WEST);
 		}
 	}
 }
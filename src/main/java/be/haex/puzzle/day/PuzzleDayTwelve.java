@@ -2,36 +2,65 @@ package be.haex.puzzle.day;
 
 import be.haex.puzzle.Puzzle;
 
-import java.util.ArrayList;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Predicate;
 import java.util.regex.Pattern;
-import java.util.stream.IntStream;
 
-import static java.util.stream.Collectors.joining;
+public class PuzzleDayTwelve implements Puzzle<BigInteger> {
 
-public class PuzzleDayTwelve implements Puzzle<Long> {
+	public static final int DEFAULT_UNFOLD_FACTOR = 5;
+
+	private static final String INPUT_FILE_NAME = "puzzleDayTwelve.txt";
+
+	private final String fileName;
+	private final int unfoldFactor;
+
+	PuzzleDayTwelve(String fileName, int unfoldFactor) {
+		if (unfoldFactor < 1) {
+			throw new IllegalArgumentException("Expected an unfold factor of at least 1, got <%d>!".formatted(unfoldFactor));
+		}
+
+		this.fileName = fileName;
+		this.unfoldFactor = unfoldFactor;
+	}
+
+	public PuzzleDayTwelve(int unfoldFactor) {
+		this(INPUT_FILE_NAME, unfoldFactor);
+	}
+
+	public PuzzleDayTwelve() {
+		this(DEFAULT_UNFOLD_FACTOR);
+	}
+
+	@Override
+	public String inputFileName() {
+		return fileName;
+	}
 
 	@Override
-	public Long solvePartOne() {
+	public BigInteger solvePartOne() {
 		return readField()
 				.calculateArrangements();
 	}
 
 	private Field readField() {
-		return Field.parse(readContentOfInputFile("puzzleDayTwelve.txt"));
+		return parseInput(fileName, Field.class, Field::parse);
 	}
 
 	@Override
-	public Long solvePartTwo() {
+	public BigInteger solvePartTwo() {
 		return readField()
-				.unfold(5)
+				.unfold(unfoldFactor)
 				.calculateArrangements();
 	}
 
+	@Override
+	public String configuration() {
+		return "unfold=" + unfoldFactor;
+	}
+
 	private record Field(List<Springs> springs) {
 
 		public static Field parse(List<String> input) {
@@ -42,10 +71,11 @@ public class PuzzleDayTwelve implements Puzzle<Long> {
 			return new Field(springs);
 		}
 
-		public long calculateArrangements() {
+		public BigInteger calculateArrangements() {
 			return springs.stream()
-					.mapToLong(Springs::calculateArrangements)
-					.sum();
+					.parallel()
+					.map(Springs::calculateArrangements)
+					.reduce(BigInteger.ZERO, BigInteger::add);
 		}
 
 		public Field unfold(int times) {
@@ -57,10 +87,14 @@ public class PuzzleDayTwelve implements Puzzle<Long> {
 		}
 	}
 
-	private record Springs(List<Condition> conditions, List<Integer> damagedGroupSizes) {
+	/**
+	 * A row of springs, unfolded {@code repetitions} times without copying: the conditions repeat with
+	 * an unknown spring between every copy, and the damaged groups simply repeat.
+	 */
+	private record Springs(byte[] conditions, int[] damagedGroupSizes, int repetitions) {
 
-		private static final Map<Springs, Long> MEMOIZATION = new HashMap<>();
 		private static final Pattern SPRINGS_PATTERN = Pattern.compile("^([?.#]+)\\s([0-9,]+)$");
+		private static final byte SEPARATOR = '?';
 
 		public static Springs parse(String input) {
 			var matcher = SPRINGS_PATTERN.matcher(input);
@@ -70,144 +104,137 @@ public class PuzzleDayTwelve implements Puzzle<Long> {
 			}
 
 			return new Springs(
-					Arrays.stream(matcher.group(1).split(""))
-							.map(Condition::from)
-							.toList(),
+					matcher.group(1).getBytes(StandardCharsets.US_ASCII),
 					Arrays.stream(matcher.group(2).split(","))
-							.map(Integer::parseInt)
-							.toList()
+							.mapToInt(Integer::parseInt)
+							.toArray(),
+					1
 			);
 		}
 
-		public long calculateArrangements() {
-			return calculateArrangements(conditions, damagedGroupSizes);
+		private int amountOfConditions() {
+			return Math.addExact(Math.multiplyExact(conditions.length, repetitions), repetitions - 1);
 		}
 
-		private long calculateArrangements(List<Condition> conditions, List<Integer> damagedGroupSizes) {
-			if (conditions.isEmpty()) {
-				return damagedGroupSizes.isEmpty() ? 1 : 0;
-			}
+		private Condition conditionAt(int offset) {
+			var offsetInCopy = offset % (conditions.length + 1);
 
-			var springs = new Springs(conditions, damagedGroupSizes);
-			if (!MEMOIZATION.containsKey(springs)) {
-				var condition = conditions.getFirst();
-				var arrangements = switch (condition) {
-					case DAMAGED -> calculateArrangementsSkippingFirstDamagedGroup(conditions, damagedGroupSizes);
-					case OPERATIONAL -> calculateArrangementsSkippingFirstOperational(conditions, damagedGroupSizes);
-					case UNKNOWN -> calculateArrangementsSkippingFirstUnknown(conditions, damagedGroupSizes);
-				};
-
-				MEMOIZATION.put(springs, arrangements);
-			}
-
-			return MEMOIZATION.get(springs);
+			return Condition.from(offsetInCopy == conditions.length ? SEPARATOR : conditions[offsetInCopy]);
 		}
 
-		private long calculateArrangementsSkippingFirstDamagedGroup(List<Condition> conditions, List<Integer> damagedGroupSizes) {
-			if (damagedGroupSizes.isEmpty()) {
-				return 0;
-			} else {
-				var damagedGroupSize = damagedGroupSizes.getFirst();
+		private int amountOfDamagedGroups() {
+			return Math.multiplyExact(damagedGroupSizes.length, repetitions);
+		}
 
-				if (sufficientConditionsForDamagedGroup(conditions, damagedGroupSize) && noOperationalInDamagedGroup(conditions, damagedGroupSize)) {
-					var remainingDamagedGroupSizes = damagedGroupSizes.subList(1, damagedGroupSizes.size());
+		private int damagedGroupSizeAt(int group) {
+			return damagedGroupSizes[group % damagedGroupSizes.length];
+		}
 
-					if (damagedGroupSize == conditions.size()) {
-						return remainingDamagedGroupSizes.isEmpty() ? 1 : 0;
-					} else {
-						return switch (conditions.get(damagedGroupSize)) {
-							case DAMAGED -> 0;
-							case OPERATIONAL ->
-									calculateArrangementsSkippingFirstDamagedGroup(conditions, damagedGroupSize, remainingDamagedGroupSizes);
-							case UNKNOWN ->
-									calculateArrangementsSkippingFirstDamagedGroupAssumingOperational(conditions, damagedGroupSize, remainingDamagedGroupSizes);
-						};
+		/**
+		 * Fills a table of the arrangements of every suffix of the conditions with every suffix of the
+		 * damaged groups, from the back: a spring can be operational, leaving the same groups for the
+		 * next spring, or start the next damaged group, which then has to fit before an operational
+		 * spring or the end of the row. A row only reads rows up to the largest group further, so the
+		 * table keeps that many rows in a ring.
+		 */
+		public BigInteger calculateArrangements() {
+			var amountOfConditions = amountOfConditions();
+			var amountOfGroups = amountOfDamagedGroups();
+			var width = amountOfGroups + 1;
+			var ring = Arrays.stream(damagedGroupSizes).max().orElse(0) + 2;
+			var arrangements = new Arrangements(Math.multiplyExact(ring, width));
+
+			arrangements.set(amountOfConditions % ring * width + amountOfGroups, Arrangements.ONE, Arrangements.NONE);
+			arrangements.set((amountOfConditions + 1) % ring * width + amountOfGroups, Arrangements.ONE, Arrangements.NONE);
+
+			var possiblyDamagedRun = 0;
+			for (var offset = amountOfConditions - 1; offset >= 0; offset--) {
+				var condition = conditionAt(offset);
+				var row = offset % ring * width;
+				var nextRow = (offset + 1) % ring * width;
+
+				possiblyDamagedRun = condition == Condition.OPERATIONAL ? 0 : possiblyDamagedRun + 1;
+
+				for (var group = 0; group <= amountOfGroups; group++) {
+					var operational = condition != Condition.DAMAGED ? nextRow + group : Arrangements.NONE;
+					var damaged = Arrangements.NONE;
+
+					if (condition != Condition.OPERATIONAL && group < amountOfGroups) {
+						var damagedGroupSize = damagedGroupSizeAt(group);
+						var end = offset + damagedGroupSize;
+
+						if (possiblyDamagedRun >= damagedGroupSize
+								&& (end == amountOfConditions || conditionAt(end) != Condition.DAMAGED)) {
+							damaged = (end + 1) % ring * width + group + 1;
+						}
 					}
-				} else {
-					return 0;
+
+					arrangements.set(row + group, operational, damaged);
 				}
 			}
-		}
-
-		private boolean sufficientConditionsForDamagedGroup(List<Condition> conditions, Integer damagedGroupSize) {
-			return damagedGroupSize <= conditions.size();
-		}
-
-		private boolean noOperationalInDamagedGroup(List<Condition> conditions, Integer damagedGroupSize) {
-			return conditions.stream()
-					.limit(damagedGroupSize)
-					.allMatch(damaged().or(unknown()));
-		}
 
-		private Predicate<Condition> damaged() {
-			return condition -> condition == Condition.DAMAGED;
+			return arrangements.get(0);
 		}
 
-		private Predicate<Condition> unknown() {
-			return condition -> condition == Condition.UNKNOWN;
+		public Springs unfold(int times) {
+			return new Springs(conditions, damagedGroupSizes, Math.multiplyExact(repetitions, times));
 		}
+	}
 
-		private long calculateArrangementsSkippingFirstDamagedGroup(List<Condition> conditions, Integer damagedGroupSize, List<Integer> damagedGroupSizes) {
-			var conditionsSkippingDamagedGroup = conditions.subList(damagedGroupSize + 1, conditions.size());
+	/**
+	 * The cells of the arrangements table. Counts are kept in a {@code long} until a sum overflows,
+	 * which happens from about nine copies of a row on; only from then on the cells that no longer
+	 * fit are kept as a {@link BigInteger} next to it.
+	 */
+	private static final class Arrangements {
 
-			return calculateArrangements(conditionsSkippingDamagedGroup, damagedGroupSizes);
-		}
+		private static final int NONE = -1;
+		private static final int ONE = -2;
 
-		private long calculateArrangementsSkippingFirstDamagedGroupAssumingOperational(List<Condition> conditions, Integer damagedGroupSize, List<Integer> damagedGroupSizes) {
-			var conditionsSkippingDamagedGroup = conditions.subList(damagedGroupSize + 1, conditions.size());
+		private final long[] counts;
+		private BigInteger[] largeCounts;
 
-			return calculateArrangements(
-					concatenate(conditionsSkippingDamagedGroup, Condition.OPERATIONAL),
-					damagedGroupSizes
-			);
+		private Arrangements(int size) {
+			this.counts = new long[size];
 		}
 
-		private List<Condition> concatenate(List<Condition> conditions, Condition condition) {
-			var concatenatedConditions = new ArrayList<>(conditions);
-			concatenatedConditions.addFirst(condition);
-
-			return concatenatedConditions;
-		}
+		/**
+		 * Stores the sum of two cells in a third, where {@link #NONE} adds nothing and {@link #ONE} adds
+		 * a single arrangement.
+		 */
+		public void set(int cell, int first, int second) {
+			if (largeCounts == null || largeCounts[cell] == null && isSmall(first) && isSmall(second)) {
+				var count = count(first) + count(second);
+
+				if (count >= 0) {
+					counts[cell] = count;
+					return;
+				}
+			}
 
-		private long calculateArrangementsSkippingFirstOperational(List<Condition> conditions, List<Integer> damagedGroupSizes) {
-			var conditionsSkippingFirstCondition = conditions.subList(1, conditions.size());
+			if (largeCounts == null) {
+				largeCounts = new BigInteger[counts.length];
+			}
 
-			return calculateArrangements(conditionsSkippingFirstCondition, damagedGroupSizes);
+			var count = get(first).add(get(second));
+			largeCounts[cell] = count.bitLength() < Long.SIZE ? null : count;
+			counts[cell] = count.longValue();
 		}
 
-		private long calculateArrangementsSkippingFirstUnknown(List<Condition> conditions, List<Integer> damagedGroupSizes) {
-			var conditionsSkippingFirstCondition = conditions.subList(1, conditions.size());
-			var operationalArrangements = calculateArrangements(
-					concatenate(conditionsSkippingFirstCondition, Condition.OPERATIONAL),
-					damagedGroupSizes
-			);
-			var damagedArrangements = calculateArrangements(
-					concatenate(conditionsSkippingFirstCondition, Condition.DAMAGED),
-					damagedGroupSizes
-			);
-
-			return operationalArrangements + damagedArrangements;
+		private boolean isSmall(int cell) {
+			return cell < 0 || largeCounts == null || largeCounts[cell] == null;
 		}
 
-		public Springs unfold(int times) {
-			var unfoldedConditions = unfold(
-					conditions.stream().map(Condition::code).collect(joining()),
-					times,
-					Condition.UNKNOWN.code()
-			);
-			var unfoldedDamagedGroupSizes = unfold(
-					damagedGroupSizes.stream().map(String::valueOf).collect(joining(",")),
-					times,
-					","
-			);
-
-			return Springs.parse("%s %s".formatted(unfoldedConditions, unfoldedDamagedGroupSizes));
+		private long count(int cell) {
+			return switch (cell) {
+				case NONE -> 0;
+				case ONE -> 1;
+				default -> counts[cell];
+			};
 		}
 
-		private String unfold(String value, int times, String delimiter) {
-			return IntStream.range(0, times)
-					.mapToObj(ignore -> value)
-					.collect(joining(delimiter));
+		public BigInteger get(int cell) {
+			return isSmall(cell) ? BigInteger.valueOf(count(cell)) : largeCounts[cell];
 		}
 	}
 
@@ -222,11 +249,13 @@ public class PuzzleDayTwelve implements Puzzle<Long> {
 			this.code = code;
 		}
 
-		public static Condition from(String code) {
-			return Arrays.stream(values())
-					.filter(condition -> condition.code.equals(code))
-					.findFirst()
-					.orElseThrow();
+		public static Condition from(byte code) {
+			return switch (code) {
+				case '.' -> OPERATIONAL;
+				case '#' -> DAMAGED;
+				case '?' -> UNKNOWN;
+				default -> throw new IllegalArgumentException("Unknown condition: " + (char) code);
+			};
 		}
 
 		public String code() {
@@ -33,6 +33,11 @@ public class PuzzleDayTwenty implements Puzzle<Long> {
 		this(INPUT_FILE_NAME);
 	}
 
+	@Override
+	public String inputFileName() {
+		return fileName;
+	}
+
 	@Override
 	public Long solvePartOne() {
 		return readCommunicationSystem()
@@ -91,6 +96,8 @@ public class PuzzleDayTwenty implements Puzzle<Long> {
 						sentPulses.computeIfPresent(PulseType.LOW, increment());
 
 						while (!pulses.isEmpty()) {
+							Puzzle.checkpoint();
+
 							var pulse = pulses.poll();
 
 							sentPulses.computeIfPresent(pulse.type(), increment());
@@ -148,6 +155,8 @@ public class PuzzleDayTwenty implements Puzzle<Long> {
 				pulses.addAll(broadcastModule.receive(PulseType.LOW, broadcastModule.name()));
 
 				while (!pulses.isEmpty()) {
+					Puzzle.checkpoint();
+
 					var pulse = pulses.poll();
 
 					var module = modules.get(pulse.destinationModule());
@@ -1,9 +1,11 @@
 package be.haex.puzzle.day;
 
 import be.haex.puzzle.Puzzle;
+import be.haex.puzzle.PuzzleInput;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -11,7 +13,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.ToLongFunction;
-import java.util.regex.Pattern;
 import java.util.stream.IntStream;
 
 import static java.math.MathContext.DECIMAL128;
@@ -37,6 +38,16 @@ public class PuzzleDayTwentyFour implements Puzzle<Long> {
 		this(DEFAULT_MINIMUM_XY_POSITION, DEFAULT_MAXIMUM_XY_POSITION, DEFAULT_FILE_NAME);
 	}
 
+	@Override
+	public String inputFileName() {
+		return fileName;
+	}
+
+	@Override
+	public String configuration() {
+		return "area=%d..%d".formatted(minimumXYPosition, maximumXYPosition);
+	}
+
 	@Override
 	public Long solvePartOne() {
 		var hailStones = readHailStones();
@@ -50,9 +61,9 @@ public class PuzzleDayTwentyFour implements Puzzle<Long> {
 	}
 
 	private List<HailStone> readHailStones() {
-		return readContentOfInputFile(fileName)
-				.stream()
-				.map(HailStone::parse)
+		return readPuzzleInput(fileName)
+				.lines()
+				.map(line -> HailStone.parse(PuzzleInput.parseLongs(line)))
 				.toList();
 	}
 
@@ -149,26 +160,14 @@ public class PuzzleDayTwentyFour implements Puzzle<Long> {
 
 	private record HailStone(Position position, Position velocity) {
 
-		private static final Pattern PATTERN = Pattern.compile("^(?<xPosition>\\d+),\\s+(?<yPosition>\\d+),\\s+(?<zPosition>\\d+)\\s+@\\s+(?<xVelocity>-?\\d+),\\s+(?<yVelocity>-?\\d+),\\s+(?<zVelocity>-?\\d+)$");
-
-		public static HailStone parse(String input) {
-			var matcher = PATTERN.matcher(input);
-
-			if (!matcher.matches()) {
-				throw new IllegalArgumentException("Invalid hailstone input: %s".formatted(input));
+		public static HailStone parse(long[] values) {
+			if (values.length != 6) {
+				throw new IllegalArgumentException("Expected a position and a velocity of three numbers each, got <%s>!".formatted(Arrays.toString(values)));
 			}
 
 			return new HailStone(
-					new Position(
-							Long.parseLong(matcher.group("xPosition")),
-							Long.parseLong(matcher.group("yPosition")),
-							Long.parseLong(matcher.group("zPosition"))
-					),
-					new Position(
-							Long.parseLong(matcher.group("xVelocity")),
-							Long.parseLong(matcher.group("yVelocity")),
-							Long.parseLong(matcher.group("zVelocity"))
-					)
+					new Position(values[0], values[1], values[2]),
+					new Position(values[3], values[4], values[5])
 			);
 		}
 
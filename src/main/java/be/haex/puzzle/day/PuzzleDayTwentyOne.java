@@ -1,17 +1,12 @@
 package be.haex.puzzle.day;
 
 import be.haex.puzzle.Puzzle;
+import be.haex.puzzle.PuzzleInput;
+import be.haex.puzzle.grid.BreadthFirstSearch;
+import be.haex.puzzle.grid.Grid;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-
-import static java.util.function.Predicate.not;
 
 public class PuzzleDayTwentyOne implements Puzzle<Long> {
 
@@ -27,6 +22,11 @@ public class PuzzleDayTwentyOne implements Puzzle<Long> {
 		this(INPUT_FILE_NAME);
 	}
 
+	@Override
+	public String inputFileName() {
+		return fileName;
+	}
+
 	@Override
 	public Long solvePartOne() {
 		return readGardenMap()
@@ -34,7 +34,7 @@ public class PuzzleDayTwentyOne implements Puzzle<Long> {
 	}
 
 	private GardenMap readGardenMap() {
-		return GardenMap.parse(readContentOfInputFile(fileName));
+		return parsePuzzleInput(fileName, GardenMap.class, GardenMap::parse);
 	}
 
 	@Override
@@ -43,24 +43,15 @@ public class PuzzleDayTwentyOne implements Puzzle<Long> {
 				.countReachableGardenPlots(26_501_365);
 	}
 
-	private record GardenMap(Position startingPosition, Map<Position, Tile> tiles) {
+	private record GardenMap(Position startingPosition, Grid tiles) {
 
-		public static GardenMap parse(List<String> input) {
-			var tiles = new HashMap<Position, Tile>();
+		public static GardenMap parse(PuzzleInput input) {
+			var tiles = Grid.parse(input);
 			Position startingPosition = null;
 
-			for (var x = 0; x < input.size(); x++) {
-				var row = input.get(x);
-
-				for (var y = 0; y < row.length(); y++) {
-					var position = new Position(x, y);
-					var tileType = Tile.from(row.charAt(y));
-
-					if (tileType == Tile.STARTING_POSITION) {
-						startingPosition = position;
-					}
-
-					tiles.put(position, tileType);
+			for (var index = 0; index < tiles.size(); index++) {
+				if (Tile.from(tiles.get(index)) == Tile.STARTING_POSITION) {
+					startingPosition = new Position(tiles.row(index), tiles.column(index));
 				}
 			}
 
@@ -78,75 +69,48 @@ public class PuzzleDayTwentyOne implements Puzzle<Long> {
 		}
 
 		private int gridSize() {
-			var amountOfRows = tiles.keySet()
-					.stream()
-					.mapToInt(Position::x)
-					.max()
-					.orElse(0);
-			var amountOfColumns = tiles.keySet()
-					.stream()
-					.mapToInt(Position::y)
-					.max()
-					.orElse(0);
-
-			assert amountOfRows == amountOfColumns;
-			assert amountOfRows != 0;
-
-			return amountOfRows + 1;
+			assert tiles.rows() == tiles.columns();
+			assert tiles.rows() > 1;
+
+			return tiles.rows();
 		}
 
 		private long countReachableGardenPlots(int amountOfSteps, int gridSize) {
-			var reachedGardenPlots = new HashSet<Position>();
-			reachedGardenPlots.add(startingPosition);
-
-			for (var step = 0; step < amountOfSteps; step++) {
-				var newlyReachedGardenPlots = takeStep(reachedGardenPlots, gridSize);
-
-				reachedGardenPlots.clear();
-				reachedGardenPlots.addAll(newlyReachedGardenPlots);
-			}
-
-			return reachedGardenPlots.size();
+			return countReachableGardenPlotsPerStep(amountOfSteps, gridSize)[amountOfSteps];
 		}
 
-		private Set<Position> takeStep(Set<Position> startingPositions, int gridSize) {
-			var reachedGardenPlots = new HashSet<Position>();
-
-			var previouslyReachedGardenPlots = new LinkedList<>(startingPositions);
-			while (!previouslyReachedGardenPlots.isEmpty()) {
-				var currentPosition = previouslyReachedGardenPlots.poll();
-
-				Arrays.stream(Direction.values())
-						.map(currentPosition::move)
-						.filter(not(nextPosition -> tiles.get(new Position(
-								(nextPosition.x() % gridSize + gridSize) % gridSize,
-								(nextPosition.y() % gridSize + gridSize) % gridSize
-						)) == Tile.ROCK))
-						.forEach(reachedGardenPlots::add);
+		/**
+		 * The plots reachable in exactly {@code n} steps are those at most {@code n} steps away whose
+		 * distance has the parity of {@code n}, as every detour adds an even number of steps. One
+		 * breadth-first search over enough copies of the map therefore answers every step count up to
+		 * {@code maximumSteps}.
+		 */
+		private long[] countReachableGardenPlotsPerStep(int maximumSteps, int gridSize) {
+			var repeats = 2 * (maximumSteps / gridSize + 1) + 1;
+			var garden = tiles.tiled(repeats);
+			var offset = repeats / 2 * gridSize;
+			var plotsAtDistance = new long[maximumSteps + 1];
+
+			BreadthFirstSearch.over(garden, cell -> Tile.from(garden.get(cell)) != Tile.ROCK)
+					.start(garden.index(startingPosition.x() + offset, startingPosition.y() + offset))
+					.run(maximumSteps, (distance, plots) -> plotsAtDistance[distance] = plots);
+
+			var reachableGardenPlots = new long[maximumSteps + 1];
+			for (var step = 0; step <= maximumSteps; step++) {
+				reachableGardenPlots[step] = plotsAtDistance[step] + (step >= 2 ? reachableGardenPlots[step - 2] : 0);
 			}
 
-			return reachedGardenPlots;
+			return reachableGardenPlots;
 		}
 
 		private long countReachableGardenPlotsWithQuadraticEquation(int amountOfSteps, int gridSize) {
 			var remainder = amountOfSteps % gridSize;
 			var amountOfGrids = amountOfSteps / gridSize;
-			var reachedGardenPlots = new HashSet<Position>();
-			reachedGardenPlots.add(startingPosition);
+			var reachableGardenPlots = countReachableGardenPlotsPerStep(remainder + 2 * gridSize, gridSize);
 
-			var stepsTaken = 0;
 			var reachedGardenPlotCounts = new ArrayList<Long>();
 			for (var i = 0; i < 3; i++) {
-				while (stepsTaken < gridSize * i + remainder) {
-					var newlyReachedGardenPlots = takeStep(reachedGardenPlots, gridSize);
-
-					stepsTaken++;
-
-					reachedGardenPlots.clear();
-					reachedGardenPlots.addAll(newlyReachedGardenPlots);
-				}
-
-				reachedGardenPlotCounts.add((long) reachedGardenPlots.size());
+				reachedGardenPlotCounts.add(reachableGardenPlots[gridSize * i + remainder]);
 			}
 
 			return quadraticEquation(reachedGardenPlotCounts)
@@ -170,33 +134,17 @@ public class PuzzleDayTwentyOne implements Puzzle<Long> {
 		ROCK,
 		STARTING_POSITION;
 
-		public static Tile from(char code) {
+		public static Tile from(byte code) {
 			return switch (code) {
 				case '.' -> GARDEN_PLOT;
 				case '#' -> ROCK;
 				case 'S' -> STARTING_POSITION;
-				default -> throw new IllegalArgumentException("Unknown tile type: " + code);
+				default -> throw new IllegalArgumentException("Unknown tile type: " + (char) code);
 			};
 		}
 	}
 
 	private record Position(int x, int y) {
-
-		public Position move(Direction direction) {
-			return switch (direction) {
-				case NORTH -> new Position(x - 1, y);
-				case EAST -> new Position(x, y + 1);
-				case SOUTH -> new Position(x + 1, y);
-				case WEST -> new Position(x, y - 1);
-			};
-		}
-	}
-
-	private enum Direction {
-		NORTH,
-		EAST,
-		SOUTH,
-		WEST
 	}
 
 	private record QuadraticEquation(long a, long b, long c) {
@@ -1,23 +1,24 @@
 package be.haex.puzzle.day;
 
 import be.haex.puzzle.Puzzle;
+import be.haex.puzzle.PuzzleInput;
+import be.haex.puzzle.grid.Grid;
+import be.haex.puzzle.jfr.PuzzlePhaseEvent;
+import be.haex.puzzle.util.LongHashSet;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static java.lang.Math.max;
 import static java.util.function.Predicate.not;
-import static java.util.stream.Collectors.toMap;
 
 public class PuzzleDayTwentyThree implements Puzzle<Integer> {
 
@@ -28,7 +29,7 @@ public class PuzzleDayTwentyThree implements Puzzle<Integer> {
 	}
 
 	private HikingTrails readHikingTrails() {
-		return HikingTrails.parse(readContentOfInputFile("puzzleDayTwentyThree.txt"));
+		return parsePuzzleInput("puzzleDayTwentyThree.txt", HikingTrails.class, HikingTrails::parse);
 	}
 
 	@Override
@@ -38,103 +39,72 @@ public class PuzzleDayTwentyThree implements Puzzle<Integer> {
 				.longestPath(new LongestPathFindingStrategy.DFS());
 	}
 
-	private record HikingTrails(Map<Position, Tile> tiles) {
+	private record HikingTrails(Grid tiles) {
 
-		public static HikingTrails parse(List<String> input) {
-			var tiles = new HashMap<Position, Tile>();
+		public static HikingTrails parse(PuzzleInput input) {
+			var tiles = Grid.parse(input);
 
-			for (var row = 0; row < input.size(); row++) {
-				var line = input.get(row);
-
-				for (var column = 0; column < line.length(); column++) {
-					var position = new Position(row, column);
-					var tile = Tile.parse(line.charAt(column));
-
-					tiles.put(position, tile);
-				}
+			for (var index = 0; index < tiles.size(); index++) {
+				Tile.parse(tiles.get(index));
 			}
 
 			return new HikingTrails(tiles);
 		}
 
 		public HikingTrails treatSlopesAsPaths() {
-			var updatedTiles = tiles.entrySet()
-					.stream()
-					.map(entry -> Map.entry(
-							entry.getKey(),
-							switch (entry.getValue()) {
-								case SLOPE_UP, SLOPE_RIGHT, SLOPE_DOWN, SLOPE_LEFT -> Tile.PATH;
-								default -> entry.getValue();
-							}
-					))
-					.collect(toMap(Map.Entry::getKey, Map.Entry::getValue));
+			var updatedTiles = tiles.copy();
+
+			for (var index = 0; index < updatedTiles.size(); index++) {
+				switch (Tile.parse(updatedTiles.get(index))) {
+					case SLOPE_UP, SLOPE_RIGHT, SLOPE_DOWN, SLOPE_LEFT -> updatedTiles.set(index, Tile.PATH.code());
+					default -> {
+					}
+				}
+			}
 
 			return new HikingTrails(updatedTiles);
 		}
 
+		/**
+		 * The strategies walk a copy of the trails inside a border of forest, so every step from a
+		 * walkable tile stays inside the grid without checking bounds.
+		 */
 		public int longestPath(LongestPathFindingStrategy strategy) {
-			var start = determineSinglePathOnFirstRow();
-			var end = determineSinglePathOnLastRow();
+			var paddedTiles = tiles.padded(1, Tile.FOREST.code());
+			var start = paddedTiles.index(1, singlePathOnRow(0) + 1);
+			var end = paddedTiles.index(tiles.rows(), singlePathOnRow(tiles.rows() - 1) + 1);
 
-			return strategy.determineLongestPath(start, end, tiles);
+			return strategy.determineLongestPath(start, end, paddedTiles);
 		}
 
-		private Position determineSinglePathOnFirstRow() {
-			return singlePathOnRow(0);
-		}
+		private int singlePathOnRow(int row) {
+			var columns = IntStream.range(0, tiles.columns())
+					.filter(column -> tiles.get(row, column) == Tile.PATH.code())
+					.toArray();
 
-		private Position singlePathOnRow(int row) {
-			var positions = determineAllPathsOnRow(row);
-
-			if (positions.size() != 1) {
-				throw new IllegalArgumentException("Expected exactly one path on row " + row + ", but found " + positions.size());
+			if (columns.length != 1) {
+				throw new IllegalArgumentException("Expected exactly one path on row " + row + ", but found " + columns.length);
 			}
 
-			return positions.getFirst();
-		}
-
-		private List<Position> determineAllPathsOnRow(int row) {
-			return tiles.entrySet()
-					.stream()
-					.filter(entry -> entry.getKey().x() == row)
-					.filter(entry -> entry.getValue() == Tile.PATH)
-					.map(Map.Entry::getKey)
-					.toList();
-		}
-
-		private Position determineSinglePathOnLastRow() {
-			var lastRow = tiles.keySet()
-					.stream()
-					.mapToInt(Position::x)
-					.distinct()
-					.max()
-					.orElseThrow(() -> new IllegalArgumentException("No tiles found"));
-
-			return singlePathOnRow(lastRow);
+			return columns[0];
 		}
 	}
 
-	private record Position(int x, int y) {
+	private enum Tile {
+		PATH('.'),
+		FOREST('#'),
+		SLOPE_UP('^'),
+		SLOPE_RIGHT('>'),
+		SLOPE_DOWN('v'),
+		SLOPE_LEFT('<');
+
+		private final byte code;
 
-		private Position move(Direction direction) {
-			return switch (direction) {
-				case NORTH -> new Position(x - 1, y);
-				case EAST -> new Position(x, y + 1);
-				case SOUTH -> new Position(x + 1, y);
-				case WEST -> new Position(x, y - 1);
-			};
+		Tile(char code) {
+			this.code = (byte) code;
 		}
-	}
 
-	private enum Tile {
-		PATH,
-		FOREST,
-		SLOPE_UP,
-		SLOPE_RIGHT,
-		SLOPE_DOWN,
-		SLOPE_LEFT;
-
-		public static Tile parse(char character) {
+		public static Tile parse(byte character) {
 			return switch (character) {
 				case '.' -> PATH;
 				case '#' -> FOREST;
@@ -142,10 +112,14 @@ public class PuzzleDayTwentyThree implements Puzzle<Integer> {
 				case '>' -> SLOPE_RIGHT;
 				case 'v' -> SLOPE_DOWN;
 				case '<' -> SLOPE_LEFT;
-				default -> throw new IllegalArgumentException("Unknown tile: " + character);
+				default -> throw new IllegalArgumentException("Unknown tile: " + (char) character);
 			};
 		}
 
+		public byte code() {
+			return code;
+		}
+
 		public Stream<Direction> nextDirections() {
 			return switch (this) {
 				case PATH -> Stream.of(Direction.values());
@@ -159,27 +133,47 @@ public class PuzzleDayTwentyThree implements Puzzle<Integer> {
 	}
 
 	private enum Direction {
-		NORTH,
-		EAST,
-		SOUTH,
-		WEST
+		NORTH(-1, 0),
+		EAST(0, 1),
+		SOUTH(1, 0),
+		WEST(0, -1);
+
+		private final int rowDelta;
+		private final int columnDelta;
+
+		Direction(int rowDelta, int columnDelta) {
+			this.rowDelta = rowDelta;
+			this.columnDelta = columnDelta;
+		}
+
+		public int move(int position, Grid tiles) {
+			return position + tiles.offset(rowDelta, columnDelta);
+		}
 	}
 
 	private sealed interface LongestPathFindingStrategy permits LongestPathFindingStrategy.DFS, LongestPathFindingStrategy.Naive {
 
-		int determineLongestPath(Position start, Position end, Map<Position, Tile> tiles);
+		int determineLongestPath(int start, int end, Grid tiles);
+
+		static Tile tileAt(int position, Grid tiles) {
+			return Tile.parse(tiles.get(position));
+		}
+
+		static BiPredicate<Integer, Grid> excludeForest() {
+			return (position, tiles) -> tiles.get(position) != Tile.FOREST.code();
+		}
 
 		record DFS() implements LongestPathFindingStrategy {
 
 			@Override
-			public int determineLongestPath(Position start, Position end, Map<Position, Tile> tiles) {
-				var graph = asGraph(start, end, tiles);
+			public int determineLongestPath(int start, int end, Grid tiles) {
+				var graph = PuzzlePhaseEvent.record(PuzzleDayTwentyThree.class, "graph compression", () -> asGraph(start, end, tiles));
 
-				return longestPathBetween(start, end, graph, new HashSet<>());
+				return PuzzlePhaseEvent.record(PuzzleDayTwentyThree.class, "dfs", () -> longestPathBetween(start, end, graph, new LongHashSet()));
 			}
 
-			private Map<Position, List<Path>> asGraph(Position start, Position end, Map<Position, Tile> tiles) {
-				var graph = new HashMap<Position, List<Path>>();
+			private Map<Integer, List<Path>> asGraph(int start, int end, Grid tiles) {
+				var graph = new HashMap<Integer, List<Path>>();
 				var edges = Stream.concat(
 						Stream.of(start, end),
 						determineEdges(tiles)
@@ -190,33 +184,25 @@ public class PuzzleDayTwentyThree implements Puzzle<Integer> {
 				return graph;
 			}
 
-			private Stream<Position> determineEdges(Map<Position, Tile> tiles) {
-				return tiles.keySet()
-						.stream()
+			private Stream<Integer> determineEdges(Grid tiles) {
+				return IntStream.range(0, tiles.size())
+						.boxed()
 						.filter(position -> excludeForest().test(position, tiles))
 						.filter(position -> threeOrMoreEdges().test(position, tiles));
 			}
 
-			private BiPredicate<Position, Map<Position, Tile>> excludeForest() {
-				return (position, tiles) -> tiles.get(position) != Tile.FOREST;
-			}
-
-			private BiPredicate<Position, Map<Position, Tile>> threeOrMoreEdges() {
-				return (position, tiles) -> tiles.get(position)
+			private BiPredicate<Integer, Grid> threeOrMoreEdges() {
+				return (position, tiles) -> tileAt(position, tiles)
 						.nextDirections()
-						.filter(direction -> withinBounds().and(excludeForest()).test(position.move(direction), tiles))
+						.filter(direction -> excludeForest().test(direction.move(position, tiles), tiles))
 						.count() >= 3;
 			}
 
-			private BiPredicate<Position, Map<Position, Tile>> withinBounds() {
-				return (position, tiles) -> tiles.containsKey(position);
-			}
-
-			private List<Path> explore(Position edge, List<Position> edges, Map<Position, Tile> tiles) {
+			private List<Path> explore(int edge, List<Integer> edges, Grid tiles) {
 				var paths = new ArrayList<Path>();
 				var exploringNeeded = new ArrayDeque<Path>();
 				exploringNeeded.add(new Path(edge, 0));
-				var explored = new HashSet<Position>();
+				var explored = new LongHashSet();
 				explored.add(edge);
 
 				while (!exploringNeeded.isEmpty()) {
@@ -227,10 +213,10 @@ public class PuzzleDayTwentyThree implements Puzzle<Integer> {
 						continue;
 					}
 
-					tiles.get(path.position())
+					tileAt(path.position(), tiles)
 							.nextDirections()
-							.map(direction -> path.position().move(direction))
-							.filter(nextPosition -> withinBounds().and(excludeForest()).and(notContainedIn(explored)).test(nextPosition, tiles))
+							.map(direction -> direction.move(path.position(), tiles))
+							.filter(nextPosition -> excludeForest().and(notContainedIn(explored)).test(nextPosition, tiles))
 							.forEach(nextPosition -> {
 								exploringNeeded.push(new Path(nextPosition, path.length() + 1));
 								explored.add(nextPosition);
@@ -240,15 +226,17 @@ public class PuzzleDayTwentyThree implements Puzzle<Integer> {
 				return paths;
 			}
 
-			private BiPredicate<Position, Map<Position, Tile>> notContainedIn(Collection<Position> explored) {
+			private BiPredicate<Integer, Grid> notContainedIn(LongHashSet explored) {
 				return (position, tiles) -> !explored.contains(position);
 			}
 
-			private int longestPathBetween(Position start, Position end, Map<Position, List<Path>> graph, Set<Position> explored) {
-				if (start.equals(end)) {
+			private int longestPathBetween(int start, int end, Map<Integer, List<Path>> graph, LongHashSet explored) {
+				if (start == end) {
 					return 0;
 				}
 
+				Puzzle.checkpoint();
+
 				var longestPath = Integer.MIN_VALUE;
 				explored.add(start);
 
@@ -266,22 +254,24 @@ public class PuzzleDayTwentyThree implements Puzzle<Integer> {
 				return longestPath;
 			}
 
-			private record Path(Position position, int length) {
+			private record Path(int position, int length) {
 			}
 		}
 
 		record Naive() implements LongestPathFindingStrategy {
 
 			@Override
-			public int determineLongestPath(Position start, Position end, Map<Position, Tile> tiles) {
+			public int determineLongestPath(int start, int end, Grid tiles) {
 				var exploringNeeded = new LinkedList<Path>();
 				nextPaths(start, tiles).forEach(exploringNeeded::add);
 				var exploringFinished = new ArrayList<Path>();
 
 				while (!exploringNeeded.isEmpty()) {
+					Puzzle.checkpoint();
+
 					var path = exploringNeeded.poll();
 
-					if (path.position().equals(end)) {
+					if (path.position() == end) {
 						exploringFinished.add(path);
 						continue;
 					}
@@ -295,23 +285,15 @@ public class PuzzleDayTwentyThree implements Puzzle<Integer> {
 						.orElse(0);
 			}
 
-			private Stream<Path> nextPaths(Position position, Map<Position, Tile> tiles) {
-				return tiles.get(position)
+			private Stream<Path> nextPaths(int position, Grid tiles) {
+				return tileAt(position, tiles)
 						.nextDirections()
-						.map(position::move)
-						.filter(nextPosition -> withinBounds().and(excludeForest()).test(nextPosition, tiles))
+						.map(direction -> direction.move(position, tiles))
+						.filter(nextPosition -> excludeForest().test(nextPosition, tiles))
 						.map(Path::new);
 			}
 
-			private BiPredicate<Position, Map<Position, Tile>> withinBounds() {
-				return (position, tiles) -> tiles.containsKey(position);
-			}
-
-			private BiPredicate<Position, Map<Position, Tile>> excludeForest() {
-				return (position, tiles) -> tiles.get(position) != Tile.FOREST;
-			}
-
-			private Stream<Path> nextPaths(Path path, Map<Position, Tile> tiles) {
+			private Stream<Path> nextPaths(Path path, Grid tiles) {
 				return nextPaths(path.position(), tiles)
 						.filter(not(explored(path)))
 						.map(path::next);
@@ -321,9 +303,9 @@ public class PuzzleDayTwentyThree implements Puzzle<Integer> {
 				return netxPath -> path.explored().contains(netxPath.position());
 			}
 
-			private record Path(Position position, List<Position> explored) {
+			private record Path(int position, List<Integer> explored) {
 
-				public Path(Position position) {
+				public Path(int position) {
 					this(position, List.of(position));
 				}
 
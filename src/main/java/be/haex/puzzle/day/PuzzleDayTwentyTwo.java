@@ -1,6 +1,7 @@
 package be.haex.puzzle.day;
 
 import be.haex.puzzle.Puzzle;
+import be.haex.puzzle.jfr.PuzzlePhaseEvent;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -46,18 +47,20 @@ public class PuzzleDayTwentyTwo implements Puzzle<Long> {
 		}
 
 		public Snapshot extrapolateUntilAfterFall() {
-			var fallenBricks = letThemFall();
-
-			for (var upper : fallenBricks) {
-				for (var lower : fallenBricks) {
-					if (!lower.equals(upper) && lower.overlaps(upper) && upper.directlyStackedUpon(lower)) {
-						lower.supports(upper);
-						upper.supportedBy(lower);
+			var fallenBricks = PuzzlePhaseEvent.record(PuzzleDayTwentyTwo.class, "fall", this::letThemFall);
+
+			return PuzzlePhaseEvent.record(PuzzleDayTwentyTwo.class, "support", () -> {
+				for (var upper : fallenBricks) {
+					for (var lower : fallenBricks) {
+						if (!lower.equals(upper) && lower.overlaps(upper) && upper.directlyStackedUpon(lower)) {
+							lower.supports(upper);
+							upper.supportedBy(lower);
+						}
 					}
 				}
-			}
 
-			return new Snapshot(fallenBricks);
+				return new Snapshot(fallenBricks);
+			});
 		}
 
 		private List<Brick> letThemFall() {
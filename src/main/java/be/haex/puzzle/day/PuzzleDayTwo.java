@@ -20,24 +20,27 @@ public class PuzzleDayTwo implements Puzzle<Integer> {
 	public Integer solvePartOne() {
 		var gameContent = new CubeSet(List.of(new Cube("red", 12), new Cube("green", 13), new Cube("blue", 14)));
 
-		return readGames()
-				.filter(game -> game.isValid(gameContent))
-				.mapToInt(Game::id)
-				.sum();
+		try (var games = readGames()) {
+			return games
+					.filter(game -> game.isValid(gameContent))
+					.mapToInt(Game::id)
+					.sum();
+		}
 	}
 
 	private Stream<Game> readGames() {
-		return readContentOfInputFile("puzzleDayTwo.txt")
-				.stream()
+		return streamPuzzleInput("puzzleDayTwo.txt")
 				.map(Game::parse);
 	}
 
 	@Override
 	public Integer solvePartTwo() {
-		return readGames()
-				.map(Game::minimumRequiredCubeSet)
-				.mapToInt(cubeSet -> cubeSet.cubes().stream().mapToInt(Cube::amount).reduce(1, (a, b) -> a * b))
-				.sum();
+		try (var games = readGames()) {
+			return games
+					.map(Game::minimumRequiredCubeSet)
+					.mapToInt(cubeSet -> cubeSet.cubes().stream().mapToInt(Cube::amount).reduce(1, (a, b) -> a * b))
+					.sum();
+		}
 	}
 
 	private record Game(int id, List<CubeSet> sets) {
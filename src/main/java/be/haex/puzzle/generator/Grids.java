@@ -0,0 +1,54 @@
+package be.haex.puzzle.generator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+final class Grids {
+
+	private Grids() {
+	}
+
+	static char[][] filled(int rows, int columns, char filling) {
+		var grid = new char[rows][columns];
+		for (var row : grid) {
+			Arrays.fill(row, filling);
+		}
+
+		return grid;
+	}
+
+	static char[][] random(Random random, int size, String alphabet, double[] weights) {
+		var grid = new char[size][size];
+
+		for (var row = 0; row < size; row++) {
+			for (var column = 0; column < size; column++) {
+				grid[row][column] = pick(random, alphabet, weights);
+			}
+		}
+
+		return grid;
+	}
+
+	private static char pick(Random random, String alphabet, double[] weights) {
+		var value = random.nextDouble();
+		for (var index = 0; index < weights.length; index++) {
+			value -= weights[index];
+			if (value < 0) {
+				return alphabet.charAt(index);
+			}
+		}
+
+		return alphabet.charAt(alphabet.length() - 1);
+	}
+
+	static List<String> lines(char[][] grid) {
+		var lines = new ArrayList<String>(grid.length);
+		for (var row : grid) {
+			lines.add(new String(row));
+		}
+
+		return lines;
+	}
+}
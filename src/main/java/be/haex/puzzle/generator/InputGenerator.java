@@ -0,0 +1,22 @@
+package be.haex.puzzle.generator;
+
+import be.haex.puzzle.PuzzleInput;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+public interface InputGenerator {
+
+	List<String> generate(Random random, int size);
+
+	default PuzzleInput generate(long seed, int size) {
+		if (size < 1) {
+			throw new IllegalArgumentException("Expected a positive size, got <%d>!".formatted(size));
+		}
+
+		var lines = generate(new Random(seed), size);
+
+		return PuzzleInput.of(String.join("\n", lines).concat("\n").getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,36 @@
+package be.haex.puzzle.generator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public final class InputGenerators {
+
+	private static final Map<Integer, InputGenerator> GENERATORS = Map.ofEntries(
+			Map.entry(5, new PuzzleDayFiveGenerator()),
+			Map.entry(10, new PuzzleDayTenGenerator()),
+			Map.entry(14, new PuzzleDayFourteenGenerator()),
+			Map.entry(16, new PuzzleDaySixteenGenerator()),
+			Map.entry(17, new PuzzleDaySeventeenGenerator()),
+			Map.entry(19, new PuzzleDayNineteenGenerator()),
+			Map.entry(21, new PuzzleDayTwentyOneGenerator()),
+			Map.entry(22, new PuzzleDayTwentyTwoGenerator()),
+			Map.entry(23, new PuzzleDayTwentyThreeGenerator()),
+			Map.entry(24, new PuzzleDayTwentyFourGenerator())
+	);
+
+	private InputGenerators() {
+	}
+
+	public static List<Integer> days() {
+		return GENERATORS.keySet()
+				.stream()
+				.sorted()
+				.toList();
+	}
+
+	public static InputGenerator forDay(int day) {
+		return Optional.ofNullable(GENERATORS.get(day))
+				.orElseThrow(() -> new IllegalArgumentException("No input generator for day <%d>, expected one of %s!".formatted(day, days())));
+	}
+}
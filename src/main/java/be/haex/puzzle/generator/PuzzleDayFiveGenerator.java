@@ -0,0 +1,78 @@
+package be.haex.puzzle.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * Generates an almanac with {@code size} seed ranges. Every map is a shuffled partition of the
+ * 32-bit category space, with a few segments left out so they map onto themselves.
+ */
+class PuzzleDayFiveGenerator implements InputGenerator {
+
+	private static final long CATEGORY_SPACE = 1L << 32;
+	private static final int ENTRIES_PER_MAP = 40;
+	private static final int MAXIMUM_SEED_RANGE_LENGTH = 100_000;
+	private static final List<String> MAPS = List.of(
+			"seed-to-soil",
+			"soil-to-fertilizer",
+			"fertilizer-to-water",
+			"water-to-light",
+			"light-to-temperature",
+			"temperature-to-humidity",
+			"humidity-to-location"
+	);
+
+	@Override
+	public List<String> generate(Random random, int size) {
+		var lines = new ArrayList<String>();
+
+		var seeds = new StringBuilder("seeds:");
+		for (var range = 0; range < size; range++) {
+			var length = 1 + random.nextInt(MAXIMUM_SEED_RANGE_LENGTH);
+			var start = random.nextLong(CATEGORY_SPACE - length);
+
+			seeds.append(' ').append(start).append(' ').append(length);
+		}
+		lines.add(seeds.toString());
+
+		for (var map : MAPS) {
+			lines.add("");
+			lines.add(map + " map:");
+			lines.addAll(entries(random));
+		}
+
+		return lines;
+	}
+
+	private static List<String> entries(Random random) {
+		var cuts = new TreeSet<Long>();
+		cuts.add(0L);
+		cuts.add(CATEGORY_SPACE);
+		while (cuts.size() < ENTRIES_PER_MAP + 1) {
+			cuts.add(1 + random.nextLong(CATEGORY_SPACE - 1));
+		}
+
+		var bounds = new ArrayList<>(cuts);
+		var segments = new ArrayList<long[]>();
+		for (var index = 0; index + 1 < bounds.size(); index++) {
+			segments.add(new long[]{bounds.get(index), bounds.get(index + 1) - bounds.get(index)});
+		}
+
+		var destinations = new ArrayList<>(segments);
+		Collections.shuffle(destinations, random);
+
+		var entries = new ArrayList<String>();
+		var destination = 0L;
+		for (var segment : destinations) {
+			if (random.nextInt(8) != 0) {
+				entries.add("%d %d %d".formatted(destination, segment[0], segment[1]));
+			}
+			destination += segment[1];
+		}
+
+		return entries;
+	}
+}
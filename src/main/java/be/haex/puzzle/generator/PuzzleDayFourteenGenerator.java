@@ -0,0 +1,15 @@
+package be.haex.puzzle.generator;
+
+import java.util.List;
+import java.util.Random;
+
+class PuzzleDayFourteenGenerator implements InputGenerator {
+
+	private static final String SPACES = ".O#";
+	private static final double[] WEIGHTS = {0.6, 0.2, 0.2};
+
+	@Override
+	public List<String> generate(Random random, int size) {
+		return Grids.lines(Grids.random(random, size, SPACES, WEIGHTS));
+	}
+}
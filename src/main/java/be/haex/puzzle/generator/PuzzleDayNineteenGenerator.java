@@ -0,0 +1,73 @@
+package be.haex.puzzle.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates {@code size} workflows and as many parts. Every workflow other than {@code in} is sent
+ * to by exactly one rule of an earlier workflow, so the workflows form a tree rooted at
+ * {@code in} and every one of them is reachable.
+ */
+class PuzzleDayNineteenGenerator implements InputGenerator {
+
+	private static final String CATEGORIES = "xmas";
+	private static final int MAXIMUM_RATING = 4000;
+	private static final int MAXIMUM_CONDITIONS = 3;
+
+	@Override
+	public List<String> generate(Random random, int size) {
+		var lines = new ArrayList<String>();
+		var nextWorkflow = 1;
+
+		for (var workflow = 0; workflow < size; workflow++) {
+			var rules = new ArrayList<String>();
+			var conditions = 1 + random.nextInt(MAXIMUM_CONDITIONS);
+			var sendsToWorkflow = false;
+
+			for (var rule = 0; rule <= conditions; rule++) {
+				String next;
+				if (nextWorkflow < size && (!sendsToWorkflow && rule == conditions || random.nextInt(3) != 0)) {
+					next = name(nextWorkflow++);
+					sendsToWorkflow = true;
+				} else {
+					next = random.nextBoolean() ? "A" : "R";
+				}
+
+				rules.add(rule == conditions ? next : "%c%c%d:%s".formatted(
+						CATEGORIES.charAt(random.nextInt(CATEGORIES.length())),
+						random.nextBoolean() ? '<' : '>',
+						rating(random),
+						next
+				));
+			}
+
+			lines.add("%s{%s}".formatted(name(workflow), String.join(",", rules)));
+		}
+
+		lines.add("");
+
+		for (var part = 0; part < size; part++) {
+			lines.add("{x=%d,m=%d,a=%d,s=%d}".formatted(rating(random), rating(random), rating(random), rating(random)));
+		}
+
+		return lines;
+	}
+
+	private static String name(int workflow) {
+		if (workflow == 0) {
+			return "in";
+		}
+
+		var name = new StringBuilder("w");
+		for (var value = workflow; value > 0; value /= 26) {
+			name.append((char) ('a' + value % 26));
+		}
+
+		return name.toString();
+	}
+
+	private static int rating(Random random) {
+		return 1 + random.nextInt(MAXIMUM_RATING);
+	}
+}
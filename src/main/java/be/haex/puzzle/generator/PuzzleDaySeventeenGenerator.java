@@ -0,0 +1,20 @@
+package be.haex.puzzle.generator;
+
+import java.util.List;
+import java.util.Random;
+
+class PuzzleDaySeventeenGenerator implements InputGenerator {
+
+	@Override
+	public List<String> generate(Random random, int size) {
+		var grid = new char[size][size];
+
+		for (var row = 0; row < size; row++) {
+			for (var column = 0; column < size; column++) {
+				grid[row][column] = (char) ('1' + random.nextInt(9));
+			}
+		}
+
+		return Grids.lines(grid);
+	}
+}
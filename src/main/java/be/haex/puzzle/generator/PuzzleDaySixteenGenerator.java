@@ -0,0 +1,15 @@
+package be.haex.puzzle.generator;
+
+import java.util.List;
+import java.util.Random;
+
+class PuzzleDaySixteenGenerator implements InputGenerator {
+
+	private static final String TILES = "./\\|-";
+	private static final double[] WEIGHTS = {0.9, 0.025, 0.025, 0.025, 0.025};
+
+	@Override
+	public List<String> generate(Random random, int size) {
+		return Grids.lines(Grids.random(random, size, TILES, WEIGHTS));
+	}
+}
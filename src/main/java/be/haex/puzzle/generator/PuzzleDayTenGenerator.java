@@ -0,0 +1,113 @@
+package be.haex.puzzle.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a field with one closed loop running along the inside of the border, with teeth of
+ * random height rising from its bottom edge so the enclosed area is irregular. Every other tile
+ * holds random junk pipes, except the two tiles above and below the starting position, which are
+ * kept as ground so the pipe under {@code S} is unambiguous.
+ */
+class PuzzleDayTenGenerator implements InputGenerator {
+
+	private static final String JUNK = ".|-LJ7F";
+	private static final int NORTH = 1;
+	private static final int EAST = 2;
+	private static final int SOUTH = 4;
+	private static final int WEST = 8;
+
+	@Override
+	public List<String> generate(Random random, int size) {
+		var side = Math.max(7, size);
+		var grid = new char[side][side];
+
+		for (var row = 0; row < side; row++) {
+			for (var column = 0; column < side; column++) {
+				grid[row][column] = JUNK.charAt(random.nextInt(JUNK.length()));
+			}
+		}
+
+		var loop = loop(random, side);
+		for (var index = 0; index < loop.size(); index++) {
+			var cell = loop.get(index);
+			var previous = loop.get((index + loop.size() - 1) % loop.size());
+			var next = loop.get((index + 1) % loop.size());
+
+			grid[cell[0]][cell[1]] = pipe(cell, previous, next);
+		}
+
+		var middle = side / 2;
+		grid[0][middle] = '.';
+		grid[1][middle] = 'S';
+		grid[2][middle] = '.';
+
+		return Grids.lines(grid);
+	}
+
+	private static List<int[]> loop(Random random, int side) {
+		var bottom = side - 2;
+		var loop = new ArrayList<int[]>();
+
+		for (var column = 1; column <= side - 2; column++) {
+			loop.add(new int[]{1, column});
+		}
+		for (var row = 2; row <= bottom; row++) {
+			loop.add(new int[]{row, side - 2});
+		}
+
+		var column = side - 3;
+		while (column >= 2) {
+			if (column - 1 >= 2 && random.nextBoolean()) {
+				var top = 3 + random.nextInt(side - 5);
+
+				for (var row = bottom; row >= top; row--) {
+					loop.add(new int[]{row, column});
+				}
+				for (var row = top; row <= bottom; row++) {
+					loop.add(new int[]{row, column - 1});
+				}
+				column -= 2;
+
+				if (column >= 2) {
+					loop.add(new int[]{bottom, column--});
+				}
+			} else {
+				loop.add(new int[]{bottom, column--});
+			}
+		}
+
+		for (var row = bottom; row >= 2; row--) {
+			loop.add(new int[]{row, 1});
+		}
+
+		return loop;
+	}
+
+	private static char pipe(int[] cell, int[] previous, int[] next) {
+		var connections = direction(cell, previous) | direction(cell, next);
+
+		return switch (connections) {
+			case NORTH | SOUTH -> '|';
+			case EAST | WEST -> '-';
+			case NORTH | EAST -> 'L';
+			case NORTH | WEST -> 'J';
+			case SOUTH | WEST -> '7';
+			case SOUTH | EAST -> 'F';
+			default -> throw new IllegalStateException("Loop is not connected at " + cell[0] + "," + cell[1]);
+		};
+	}
+
+	private static int direction(int[] from, int[] to) {
+		if (to[0] < from[0]) {
+			return NORTH;
+		} else if (to[0] > from[0]) {
+			return SOUTH;
+		} else if (to[1] > from[1]) {
+			return EAST;
+		} else {
+			return WEST;
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package be.haex.puzzle.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates {@code size} hailstones that are all hit by one rock thrown from inside the test area
+ * of part one. Hailstone velocities differ from the rock velocity by a small non-zero offset per
+ * axis, so pairs with equal velocities occur on every axis, which the velocity search of part two
+ * needs.
+ */
+class PuzzleDayTwentyFourGenerator implements InputGenerator {
+
+	private static final long MINIMUM_ROCK_POSITION = 250_000_000_000_000L;
+	private static final long ROCK_POSITION_RANGE = 100_000_000_000_000L;
+	private static final int MAXIMUM_ROCK_VELOCITY = 300;
+	private static final long MAXIMUM_COLLISION_TIME = 400_000_000_000L;
+
+	@Override
+	public List<String> generate(Random random, int size) {
+		var rockPosition = new long[]{rockPosition(random), rockPosition(random), rockPosition(random)};
+		var rockVelocity = new long[]{rockVelocity(random), rockVelocity(random), rockVelocity(random)};
+		var maximumOffset = Math.clamp(size / 8, 2, MAXIMUM_ROCK_VELOCITY);
+
+		var hailStones = new ArrayList<String>(size);
+		for (var hailStone = 0; hailStone < size; hailStone++) {
+			var time = 1 + random.nextLong(MAXIMUM_COLLISION_TIME);
+			var position = new long[3];
+			var velocity = new long[3];
+
+			for (var axis = 0; axis < 3; axis++) {
+				var offset = 1 + random.nextInt(maximumOffset);
+				velocity[axis] = rockVelocity[axis] + (random.nextBoolean() ? offset : -offset);
+				position[axis] = rockPosition[axis] + (rockVelocity[axis] - velocity[axis]) * time;
+			}
+
+			hailStones.add("%d, %d, %d @ %d, %d, %d".formatted(position[0], position[1], position[2], velocity[0], velocity[1], velocity[2]));
+		}
+
+		return hailStones;
+	}
+
+	private static long rockPosition(Random random) {
+		return MINIMUM_ROCK_POSITION + random.nextLong(ROCK_POSITION_RANGE);
+	}
+
+	private static long rockVelocity(Random random) {
+		return random.nextInt(2 * MAXIMUM_ROCK_VELOCITY + 1) - MAXIMUM_ROCK_VELOCITY;
+	}
+}
@@ -0,0 +1,32 @@
+package be.haex.puzzle.generator;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a square garden with an odd side of at least {@code size}. Like the real input the
+ * starting row, starting column and border are free of rocks, which the quadratic extrapolation
+ * of part two relies on.
+ */
+class PuzzleDayTwentyOneGenerator implements InputGenerator {
+
+	private static final double ROCK_PROBABILITY = 0.1;
+
+	@Override
+	public List<String> generate(Random random, int size) {
+		var side = Math.max(5, size | 1);
+		var middle = side / 2;
+		var grid = Grids.filled(side, side, '.');
+
+		for (var row = 1; row < side - 1; row++) {
+			for (var column = 1; column < side - 1; column++) {
+				if (row != middle && column != middle && random.nextDouble() < ROCK_PROBABILITY) {
+					grid[row][column] = '#';
+				}
+			}
+		}
+		grid[middle][middle] = 'S';
+
+		return Grids.lines(grid);
+	}
+}
@@ -0,0 +1,49 @@
+package be.haex.puzzle.generator;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates hiking trails shaped like the real input: a lattice of at most six by six junctions
+ * connected by corridors, with slopes next to every junction that only lead right or down. The
+ * corridors grow with {@code size} while the lattice stays small, so the junction graph of part
+ * two keeps the same shape and only the walking distances scale.
+ */
+class PuzzleDayTwentyThreeGenerator implements InputGenerator {
+
+	private static final int MAXIMUM_JUNCTIONS = 6;
+	private static final int MINIMUM_SPACING = 4;
+	private static final double CORRIDOR_PROBABILITY = 0.8;
+
+	@Override
+	public List<String> generate(Random random, int size) {
+		var junctions = Math.min(MAXIMUM_JUNCTIONS, Math.max(2, (size - 3) / MINIMUM_SPACING + 1));
+		var spacing = Math.max(MINIMUM_SPACING, (size - 3) / (junctions - 1));
+		var side = (junctions - 1) * spacing + 3;
+		var grid = Grids.filled(side, side, '#');
+
+		grid[0][1] = '.';
+		grid[side - 1][side - 2] = '.';
+
+		for (var row = 0; row < junctions; row++) {
+			for (var column = 0; column < junctions; column++) {
+				var x = 1 + row * spacing;
+				var y = 1 + column * spacing;
+				grid[x][y] = '.';
+
+				if (column + 1 < junctions && (row == 0 || row == junctions - 1 || random.nextDouble() < CORRIDOR_PROBABILITY)) {
+					for (var offset = 1; offset < spacing; offset++) {
+						grid[x][y + offset] = offset == 1 || offset == spacing - 1 ? '>' : '.';
+					}
+				}
+				if (row + 1 < junctions && (column == 0 || column == junctions - 1 || random.nextDouble() < CORRIDOR_PROBABILITY)) {
+					for (var offset = 1; offset < spacing; offset++) {
+						grid[x + offset][y] = offset == 1 || offset == spacing - 1 ? 'v' : '.';
+					}
+				}
+			}
+		}
+
+		return Grids.lines(grid);
+	}
+}
@@ -0,0 +1,49 @@
+package be.haex.puzzle.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates {@code size} bricks on a 10 by 10 footprint, like the real input. Every brick gets its
+ * own band of heights, so no two bricks overlap before they fall, and the lines are shuffled.
+ */
+class PuzzleDayTwentyTwoGenerator implements InputGenerator {
+
+	private static final int FOOTPRINT = 10;
+	private static final int MAXIMUM_LENGTH = 4;
+
+	@Override
+	public List<String> generate(Random random, int size) {
+		var bricks = new ArrayList<String>(size);
+		var z = 1;
+
+		for (var brick = 0; brick < size; brick++) {
+			var length = random.nextInt(MAXIMUM_LENGTH);
+			var x = random.nextInt(FOOTPRINT);
+			var y = random.nextInt(FOOTPRINT);
+
+			switch (random.nextInt(3)) {
+				case 0 -> {
+					var startX = Math.min(x, FOOTPRINT - 1 - length);
+					bricks.add("%d,%d,%d~%d,%d,%d".formatted(startX, y, z, startX + length, y, z));
+					z++;
+				}
+				case 1 -> {
+					var startY = Math.min(y, FOOTPRINT - 1 - length);
+					bricks.add("%d,%d,%d~%d,%d,%d".formatted(x, startY, z, x, startY + length, z));
+					z++;
+				}
+				default -> {
+					bricks.add("%d,%d,%d~%d,%d,%d".formatted(x, y, z, x, y, z + length));
+					z += length + 1;
+				}
+			}
+		}
+
+		Collections.shuffle(bricks, random);
+
+		return bricks;
+	}
+}
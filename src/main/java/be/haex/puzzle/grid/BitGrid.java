@@ -0,0 +1,211 @@
+package be.haex.puzzle.grid;
+
+import be.haex.puzzle.util.Fingerprint;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A rectangular grid of bits stored as one {@code long[]} bitboard per row: column {@code c} of a
+ * row is bit {@code c % 64} of word {@code c / 64} of that row. Counting or filling a run of
+ * columns touches one word per 64 columns instead of one cell at a time.
+ * <p>
+ * {@link #transposed()} is a copy rather than a view, built from 64 by 64 blocks that are each
+ * transposed with a handful of shifts and masks per word, so work along columns can be done as
+ * work along the rows of the transposed grid.
+ */
+public final class BitGrid {
+
+	private final int rows;
+	private final int columns;
+	private final int wordsPerRow;
+	private final long[] words;
+
+	private BitGrid(int rows, int columns, long[] words) {
+		this.rows = rows;
+		this.columns = columns;
+		this.wordsPerRow = wordsFor(columns);
+		this.words = words;
+	}
+
+	public BitGrid(int rows, int columns) {
+		this(rows, columns, new long[rows * wordsFor(columns)]);
+	}
+
+	/**
+	 * The cells of {@code grid} that hold {@code value}.
+	 */
+	public static BitGrid of(Grid grid, byte value) {
+		var bits = new BitGrid(grid.rows(), grid.columns());
+
+		for (var index = 0; index < grid.size(); index++) {
+			if (grid.get(index) == value) {
+				bits.set(grid.row(index), grid.column(index));
+			}
+		}
+
+		return bits;
+	}
+
+	private static int wordsFor(int columns) {
+		return (columns + Long.SIZE - 1) / Long.SIZE;
+	}
+
+	public int rows() {
+		return rows;
+	}
+
+	public int columns() {
+		return columns;
+	}
+
+	public boolean get(int row, int column) {
+		return (words[word(row, column)] & 1L << column) != 0;
+	}
+
+	public void set(int row, int column) {
+		words[word(row, column)] |= 1L << column;
+	}
+
+	private int word(int row, int column) {
+		return row * wordsPerRow + (column >>> 6);
+	}
+
+	public int count(int row) {
+		return count(row, 0, columns);
+	}
+
+	/**
+	 * The number of set bits in the columns {@code [from, to)} of a row.
+	 */
+	public int count(int row, int from, int to) {
+		var count = 0;
+
+		for (var word = from >>> 6; from < to && word <= (to - 1) >>> 6; word++) {
+			count += Long.bitCount(words[row * wordsPerRow + word] & mask(word, from, to));
+		}
+
+		return count;
+	}
+
+	/**
+	 * Sets the columns {@code [from, to)} of a row.
+	 */
+	public void set(int row, int from, int to) {
+		for (var word = from >>> 6; from < to && word <= (to - 1) >>> 6; word++) {
+			words[row * wordsPerRow + word] |= mask(word, from, to);
+		}
+	}
+
+	/**
+	 * Clears the columns {@code [from, to)} of a row.
+	 */
+	public void clear(int row, int from, int to) {
+		for (var word = from >>> 6; from < to && word <= (to - 1) >>> 6; word++) {
+			words[row * wordsPerRow + word] &= ~mask(word, from, to);
+		}
+	}
+
+	private static long mask(int word, int from, int to) {
+		var low = word == from >>> 6 ? -1L << from : -1L;
+		var high = word == (to - 1) >>> 6 ? -1L >>> (Long.SIZE - 1 - ((to - 1) & 63)) : -1L;
+
+		return low & high;
+	}
+
+	/**
+	 * The first set column of a row at or after {@code from}, or {@link #columns()} when there is none.
+	 */
+	public int nextSetColumn(int row, int from) {
+		if (from >= columns) {
+			return columns;
+		}
+
+		var word = from >>> 6;
+		var bits = words[row * wordsPerRow + word] & -1L << from;
+
+		while (bits == 0) {
+			if (++word == wordsPerRow) {
+				return columns;
+			}
+
+			bits = words[row * wordsPerRow + word];
+		}
+
+		return word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+	}
+
+	public BitGrid transposed() {
+		var transposed = new BitGrid(columns, rows);
+		var block = new long[Long.SIZE];
+
+		for (var rowBlock = 0; rowBlock < wordsFor(rows); rowBlock++) {
+			for (var columnBlock = 0; columnBlock < wordsPerRow; columnBlock++) {
+				for (var offset = 0; offset < Long.SIZE; offset++) {
+					var row = rowBlock * Long.SIZE + offset;
+					block[offset] = row < rows ? words[row * wordsPerRow + columnBlock] : 0;
+				}
+
+				transpose(block);
+
+				for (var offset = 0; offset < Long.SIZE; offset++) {
+					var column = columnBlock * Long.SIZE + offset;
+					if (column < columns) {
+						transposed.words[column * transposed.wordsPerRow + rowBlock] = block[offset];
+					}
+				}
+			}
+		}
+
+		return transposed;
+	}
+
+	/**
+	 * Transposes a 64 by 64 block in place by swapping ever smaller off-diagonal sub-blocks: first the
+	 * two 32 by 32 ones, then the 16 by 16 ones inside every quarter, down to single bits.
+	 */
+	private static void transpose(long[] block) {
+		var mask = 0x00000000FFFFFFFFL;
+
+		for (var width = 32; width != 0; width >>>= 1, mask ^= mask << width) {
+			for (var low = 0; low < Long.SIZE; low = ((low | width) + 1) & ~width) {
+				var high = low | width;
+				var swapped = ((block[low] >>> width) ^ block[high]) & mask;
+
+				block[high] ^= swapped;
+				block[low] ^= swapped << width;
+			}
+		}
+	}
+
+	public Fingerprint fingerprint() {
+		return Fingerprint.of(words);
+	}
+
+	public BitGrid copy() {
+		return new BitGrid(rows, columns, words.clone());
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		BitGrid bitGrid = (BitGrid) o;
+		return rows == bitGrid.rows && columns == bitGrid.columns && Arrays.equals(words, bitGrid.words);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * columns + Arrays.hashCode(words);
+	}
+
+	@Override
+	public String toString() {
+		return IntStream.range(0, rows)
+				.mapToObj(row -> IntStream.range(0, columns)
+						.mapToObj(column -> get(row, column) ? "1" : "0")
+						.collect(Collectors.joining()))
+				.collect(Collectors.joining("\n"));
+	}
+}
@@ -0,0 +1,125 @@
+package be.haex.puzzle.grid;
+
+import be.haex.puzzle.Puzzle;
+
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Breadth-first search over cells numbered {@code 0 .. cells - 1}, typically the indexes of a
+ * {@link Grid}. The queue is a ring buffer of ints and visited cells are bits in a {@code long[]},
+ * so a search allocates its two arrays up front and nothing per cell.
+ * <p>
+ * Any number of cells can be {@linkplain #start(int) started} from; they form layer 0. The search
+ * then reports every layer to a {@link LayerListener} before expanding it. A search runs once.
+ */
+public final class BreadthFirstSearch {
+
+	private final Neighbours neighbours;
+	private final int[] queue;
+	private final long[] visited;
+	private final IntConsumer visitor = this::visit;
+	private int head;
+	private int tail;
+	private int queued;
+	private int visitedCount;
+
+	public BreadthFirstSearch(int cells, Neighbours neighbours) {
+		this.neighbours = neighbours;
+		this.queue = new int[cells];
+		this.visited = new long[(cells + Long.SIZE - 1) / Long.SIZE];
+	}
+
+	/**
+	 * Searches the orthogonal neighbours of a grid, entering only cells accepted by {@code passable}.
+	 */
+	public static BreadthFirstSearch over(Grid grid, IntPredicate passable) {
+		return new BreadthFirstSearch(grid.size(), (cell, neighbour) -> grid.forEachNeighbour(cell, next -> {
+			if (passable.test(next)) {
+				neighbour.accept(next);
+			}
+		}));
+	}
+
+	public BreadthFirstSearch start(int cell) {
+		visit(cell);
+		return this;
+	}
+
+	/**
+	 * Runs until every reachable cell is visited and returns the depth of the last layer, or -1 when
+	 * nothing was started.
+	 */
+	public int run() {
+		return run(Integer.MAX_VALUE, (depth, size) -> {
+		});
+	}
+
+	/**
+	 * Runs until every reachable cell is visited or layer {@code maximumDepth} has been reported, and
+	 * returns the depth of the last reported layer.
+	 */
+	public int run(int maximumDepth, LayerListener listener) {
+		var depth = -1;
+
+		while (queued > 0) {
+			depth++;
+
+			var layerSize = queued;
+			listener.layer(depth, layerSize);
+
+			if (depth == maximumDepth) {
+				break;
+			}
+
+			for (var i = 0; i < layerSize; i++) {
+				Puzzle.checkpoint();
+
+				neighbours.forEach(poll(), visitor);
+			}
+		}
+
+		return depth;
+	}
+
+	public boolean visited(int cell) {
+		return (visited[cell >>> 6] & 1L << cell) != 0;
+	}
+
+	public int visitedCount() {
+		return visitedCount;
+	}
+
+	private void visit(int cell) {
+		if (visited(cell)) {
+			return;
+		}
+
+		visited[cell >>> 6] |= 1L << cell;
+		visitedCount++;
+
+		queue[tail] = cell;
+		tail = tail + 1 == queue.length ? 0 : tail + 1;
+		queued++;
+	}
+
+	private int poll() {
+		var cell = queue[head];
+		head = head + 1 == queue.length ? 0 : head + 1;
+		queued--;
+
+		return cell;
+	}
+
+	@FunctionalInterface
+	public interface Neighbours {
+
+		void forEach(int cell, IntConsumer neighbour);
+	}
+
+	@FunctionalInterface
+	public interface LayerListener {
+
+		void layer(int depth, int size);
+	}
+}
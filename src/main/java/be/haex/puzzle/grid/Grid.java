@@ -0,0 +1,312 @@
+package be.haex.puzzle.grid;
+
+import be.haex.puzzle.PuzzleInput;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A rectangular grid of bytes stored in one flat row-major array. Cells are addressed by an int
+ * index ({@code row * columns + column}), so searches can keep positions as plain ints.
+ * <p>
+ * {@link #transposed()} and the rotations are views: they share the cells of the grid they were
+ * taken from and translate indexes through a stride, so writes through a view show up in the
+ * original. {@link #padded(int, byte)} copies the grid inside a border of sentinel cells; moving
+ * from any inner cell by {@link #offset(int, int)} then never leaves the array, which removes the
+ * bounds checks from the hot loops of grid searches.
+ */
+public final class Grid {
+
+	private final byte[] cells;
+	private final int rows;
+	private final int columns;
+	private final int origin;
+	private final int rowStride;
+	private final int columnStride;
+	private final boolean rowMajor;
+
+	private Grid(byte[] cells, int rows, int columns, int origin, int rowStride, int columnStride) {
+		this.cells = cells;
+		this.rows = rows;
+		this.columns = columns;
+		this.origin = origin;
+		this.rowStride = rowStride;
+		this.columnStride = columnStride;
+		this.rowMajor = origin == 0 && rowStride == columns && columnStride == 1;
+	}
+
+	public static Grid parse(List<String> lines) {
+		var rows = lines.size();
+		var columns = rows == 0 ? 0 : lines.getFirst().length();
+		var cells = new byte[rows * columns];
+
+		for (var row = 0; row < rows; row++) {
+			var line = lines.get(row).getBytes(StandardCharsets.ISO_8859_1);
+
+			if (line.length != columns) {
+				throw new IllegalArgumentException("Expected every row to have %d columns, row %d has %d!".formatted(columns, row, line.length));
+			}
+
+			System.arraycopy(line, 0, cells, row * columns, columns);
+		}
+
+		return new Grid(cells, rows, columns, 0, columns, 1);
+	}
+
+	/**
+	 * Copies the rows straight from the bytes of the input, without decoding them to strings.
+	 */
+	public static Grid parse(PuzzleInput input) {
+		var rows = input.lineCount();
+		var columns = rows == 0 ? 0 : input.lineLength(0);
+		var cells = new byte[rows * columns];
+
+		for (var row = 0; row < rows; row++) {
+			if (input.lineLength(row) != columns) {
+				throw new IllegalArgumentException("Expected every row to have %d columns, row %d has %d!".formatted(columns, row, input.lineLength(row)));
+			}
+
+			input.line(row).get(0, cells, row * columns, columns);
+		}
+
+		return new Grid(cells, rows, columns, 0, columns, 1);
+	}
+
+	public static Grid filled(int rows, int columns, byte value) {
+		var cells = new byte[rows * columns];
+		Arrays.fill(cells, value);
+
+		return new Grid(cells, rows, columns, 0, columns, 1);
+	}
+
+	public int rows() {
+		return rows;
+	}
+
+	public int columns() {
+		return columns;
+	}
+
+	public int size() {
+		return rows * columns;
+	}
+
+	public int index(int row, int column) {
+		return row * columns + column;
+	}
+
+	public int row(int index) {
+		return index / columns;
+	}
+
+	public int column(int index) {
+		return index % columns;
+	}
+
+	public boolean contains(int row, int column) {
+		return row >= 0 && row < rows && column >= 0 && column < columns;
+	}
+
+	public byte get(int index) {
+		return cells[cell(index)];
+	}
+
+	public byte get(int row, int column) {
+		return get(index(row, column));
+	}
+
+	public void set(int index, byte value) {
+		cells[cell(index)] = value;
+	}
+
+	public void set(int row, int column, byte value) {
+		set(index(row, column), value);
+	}
+
+	public int indexOf(byte value) {
+		for (var index = 0; index < size(); index++) {
+			if (get(index) == value) {
+				return index;
+			}
+		}
+
+		return -1;
+	}
+
+	public int count(byte value) {
+		var count = 0;
+		for (var index = 0; index < size(); index++) {
+			if (get(index) == value) {
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	public boolean rowContainsOnly(int row, byte value) {
+		for (var column = 0; column < columns; column++) {
+			if (get(row, column) != value) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * The index of the cell {@code rowDelta} rows and {@code columnDelta} columns away, or -1 when that
+	 * cell lies outside the grid.
+	 */
+	public int neighbour(int index, int rowDelta, int columnDelta) {
+		var row = row(index) + rowDelta;
+		var column = column(index) + columnDelta;
+
+		return contains(row, column) ? index(row, column) : -1;
+	}
+
+	/**
+	 * Visits the indexes of the orthogonal neighbours inside the grid, in north, east, south, west order.
+	 */
+	public void forEachNeighbour(int index, IntConsumer action) {
+		var row = row(index);
+		var column = column(index);
+
+		if (row > 0) {
+			action.accept(index - columns);
+		}
+		if (column < columns - 1) {
+			action.accept(index + 1);
+		}
+		if (row < rows - 1) {
+			action.accept(index + columns);
+		}
+		if (column > 0) {
+			action.accept(index - 1);
+		}
+	}
+
+	/**
+	 * The index distance of a move, to step through the grid without bounds checks. Only meaningful on
+	 * grids that are not views, typically a {@linkplain #padded(int, byte) padded} one.
+	 */
+	public int offset(int rowDelta, int columnDelta) {
+		return rowDelta * columns + columnDelta;
+	}
+
+	public Grid transposed() {
+		return new Grid(cells, columns, rows, origin, columnStride, rowStride);
+	}
+
+	public Grid rotatedClockwise() {
+		return new Grid(cells, columns, rows, origin + (rows - 1) * rowStride, columnStride, -rowStride);
+	}
+
+	public Grid rotatedCounterClockwise() {
+		return new Grid(cells, columns, rows, origin + (columns - 1) * columnStride, -columnStride, rowStride);
+	}
+
+	public Grid rotatedHalfTurn() {
+		return new Grid(cells, rows, columns, origin + (rows - 1) * rowStride + (columns - 1) * columnStride, -rowStride, -columnStride);
+	}
+
+	/**
+	 * A copy of this grid surrounded by {@code border} rows and columns of {@code fill}. The cell at
+	 * {@code (row, column)} of this grid is at {@code (row + border, column + border)} of the copy.
+	 */
+	public Grid padded(int border, byte fill) {
+		var padded = filled(rows + 2 * border, columns + 2 * border, fill);
+
+		for (var row = 0; row < rows; row++) {
+			for (var column = 0; column < columns; column++) {
+				padded.set(row + border, column + border, get(row, column));
+			}
+		}
+
+		return padded;
+	}
+
+	/**
+	 * A copy of this grid repeated {@code repeats} times in both directions. The cell at
+	 * {@code (row, column)} of the copy is the cell at {@code (row % rows, column % columns)} of this grid.
+	 */
+	public Grid tiled(int repeats) {
+		var tiled = filled(rows * repeats, columns * repeats, (byte) 0);
+
+		for (var row = 0; row < tiled.rows; row++) {
+			for (var column = 0; column < tiled.columns; column++) {
+				tiled.set(row, column, get(row % rows, column % columns));
+			}
+		}
+
+		return tiled;
+	}
+
+	/**
+	 * A row-major copy of this grid or view that no longer shares its cells.
+	 */
+	public Grid copy() {
+		if (rowMajor) {
+			return new Grid(cells.clone(), rows, columns, 0, columns, 1);
+		}
+
+		var copy = new byte[size()];
+		for (var index = 0; index < copy.length; index++) {
+			copy[index] = get(index);
+		}
+
+		return new Grid(copy, rows, columns, 0, columns, 1);
+	}
+
+	private int cell(int index) {
+		if (rowMajor) {
+			return index;
+		}
+
+		return origin + (index / columns) * rowStride + (index % columns) * columnStride;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		Grid grid = (Grid) o;
+		if (rows != grid.rows || columns != grid.columns) return false;
+		if (rowMajor && grid.rowMajor) return Arrays.equals(cells, grid.cells);
+
+		for (var index = 0; index < size(); index++) {
+			if (get(index) != grid.get(index)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		if (rowMajor) {
+			return 31 * columns + Arrays.hashCode(cells);
+		}
+
+		var result = 1;
+		for (var index = 0; index < size(); index++) {
+			result = 31 * result + get(index);
+		}
+
+		return 31 * columns + result;
+	}
+
+	@Override
+	public String toString() {
+		return IntStream.range(0, rows)
+				.mapToObj(row -> IntStream.range(0, columns)
+						.mapToObj(column -> String.valueOf((char) get(row, column)))
+						.collect(Collectors.joining()))
+				.collect(Collectors.joining("\n"));
+	}
+}
@@ -0,0 +1,33 @@
+package be.haex.puzzle.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.function.Supplier;
+
+@Name("be.haex.puzzle.Parse")
+@Label("Puzzle Parse")
+@Category({"Advent of Code", "Puzzle"})
+@Description("Parsing of a puzzle input file into its model")
+public class PuzzleParseEvent extends Event {
+
+	@Label("Puzzle")
+	public String puzzle;
+
+	@Label("File Name")
+	public String fileName;
+
+	@Label("Model")
+	public String model;
+
+	public static <T> T record(Class<?> puzzle, String fileName, Class<?> model, Supplier<T> parser) {
+		return TimedEvent.record(new PuzzleParseEvent(), parser, event -> {
+			event.puzzle = puzzle.getSimpleName();
+			event.fileName = fileName;
+			event.model = model.getSimpleName();
+		});
+	}
+}
@@ -0,0 +1,29 @@
+package be.haex.puzzle.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.function.Supplier;
+
+@Name("be.haex.puzzle.Phase")
+@Label("Puzzle Phase")
+@Category({"Advent of Code", "Puzzle"})
+@Description("A named phase inside a long running solver")
+public class PuzzlePhaseEvent extends Event {
+
+	@Label("Puzzle")
+	public String puzzle;
+
+	@Label("Phase")
+	public String phase;
+
+	public static <T> T record(Class<?> puzzle, String phase, Supplier<T> work) {
+		return TimedEvent.record(new PuzzlePhaseEvent(), work, event -> {
+			event.puzzle = puzzle.getSimpleName();
+			event.phase = phase;
+		});
+	}
+}
@@ -0,0 +1,41 @@
+package be.haex.puzzle.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+public final class PuzzleRecording implements AutoCloseable {
+
+	private final Recording recording;
+	private final Path destination;
+
+	private PuzzleRecording(Recording recording, Path destination) {
+		this.recording = recording;
+		this.destination = destination;
+	}
+
+	public static PuzzleRecording start(Path destination) throws IOException {
+		try {
+			var recording = new Recording(Configuration.getConfiguration("default"));
+			recording.setName("Advent of Code 2023");
+			recording.enable(PuzzleParseEvent.class);
+			recording.enable(PuzzleSolveEvent.class);
+			recording.enable(PuzzlePhaseEvent.class);
+			recording.start();
+
+			return new PuzzleRecording(recording, destination);
+		} catch (ParseException e) {
+			throw new IllegalStateException("Cannot load the default JFR configuration!", e);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		recording.stop();
+		recording.dump(destination);
+		recording.close();
+	}
+}
@@ -0,0 +1,29 @@
+package be.haex.puzzle.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.function.Supplier;
+
+@Name("be.haex.puzzle.Solve")
+@Label("Puzzle Solve")
+@Category({"Advent of Code", "Puzzle"})
+@Description("Solving one part of a puzzle")
+public class PuzzleSolveEvent extends Event {
+
+	@Label("Puzzle")
+	public String puzzle;
+
+	@Label("Part")
+	public String part;
+
+	public static <T> T record(Class<?> puzzle, String part, Supplier<T> solver) {
+		return TimedEvent.record(new PuzzleSolveEvent(), solver, event -> {
+			event.puzzle = puzzle.getSimpleName();
+			event.part = part;
+		});
+	}
+}
@@ -0,0 +1,30 @@
+package be.haex.puzzle.jfr;
+
+import jdk.jfr.Event;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+final class TimedEvent {
+
+	private TimedEvent() {
+	}
+
+	/**
+	 * Times {@code work} with {@code event} and commits the event when the recording wants it. The
+	 * fields are only filled in by {@code describe} once the event is known to be committed.
+	 */
+	static <E extends Event, T> T record(E event, Supplier<T> work, Consumer<E> describe) {
+		event.begin();
+
+		var result = work.get();
+
+		event.end();
+		if (event.shouldCommit()) {
+			describe.accept(event);
+			event.commit();
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,67 @@
+package be.haex.puzzle.util;
+
+import java.util.Arrays;
+
+/**
+ * A monotone priority queue of int items for Dijkstra-style searches whose edge weights are small
+ * non-negative integers. Items live in a ring of {@code maximumEdgeWeight + 1} buckets indexed by
+ * priority, so adding and polling are constant time and nothing is allocated once the buckets have
+ * grown. Every added priority must lie between the priority of the last polled item and that plus
+ * the maximum edge weight.
+ */
+public final class BucketQueue {
+
+	private final int[][] buckets;
+	private final int[] bucketSizes;
+	private int priority;
+	private int size;
+
+	public BucketQueue(int maximumEdgeWeight) {
+		if (maximumEdgeWeight < 0) {
+			throw new IllegalArgumentException("Expected a non-negative maximum edge weight, got <%d>!".formatted(maximumEdgeWeight));
+		}
+
+		this.buckets = new int[maximumEdgeWeight + 1][16];
+		this.bucketSizes = new int[maximumEdgeWeight + 1];
+	}
+
+	public void add(int item, int priority) {
+		if (priority < this.priority || priority - this.priority >= buckets.length) {
+			throw new IllegalArgumentException("Expected a priority between %d and %d, got <%d>!".formatted(this.priority, this.priority + buckets.length - 1, priority));
+		}
+
+		var bucket = priority % buckets.length;
+		if (bucketSizes[bucket] == buckets[bucket].length) {
+			buckets[bucket] = Arrays.copyOf(buckets[bucket], buckets[bucket].length << 1);
+		}
+
+		buckets[bucket][bucketSizes[bucket]++] = item;
+		size++;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Removes an item with the lowest priority; {@link #priority()} then returns that priority.
+	 */
+	public int poll() {
+		if (size == 0) {
+			throw new IllegalStateException("The queue is empty!");
+		}
+
+		var bucket = priority % buckets.length;
+		while (bucketSizes[bucket] == 0) {
+			priority++;
+			bucket = priority % buckets.length;
+		}
+
+		size--;
+		return buckets[bucket][--bucketSizes[bucket]];
+	}
+
+	public int priority() {
+		return priority;
+	}
+}
@@ -0,0 +1,104 @@
+package be.haex.puzzle.util;
+
+import be.haex.puzzle.Puzzle;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs a deterministic simulation for a number of steps, skipping whole periods once the states
+ * start to repeat. Only the {@link Fingerprint} of a state is used to recognise it, so neither
+ * strategy keeps old states alive; once the period is known the remaining steps modulo the period
+ * are simulated from the current state.
+ */
+public enum CycleDetection {
+
+	/**
+	 * Remembers the fingerprint of every state with the step it was seen at, which finds the period
+	 * at the first repeated state at the cost of 16 bytes and a map entry per step.
+	 */
+	HASHED {
+		@Override
+		public <S> S advance(S initial, long steps, UnaryOperator<S> next, Function<S, Fingerprint> fingerprint) {
+			var seenAt = new HashMap<Fingerprint, Long>();
+			var state = initial;
+
+			for (var step = 0L; step < steps; step++) {
+				Puzzle.checkpoint();
+
+				var firstSeenAt = seenAt.putIfAbsent(fingerprint.apply(state), step);
+				if (firstSeenAt != null) {
+					return simulate(state, (steps - step) % (step - firstSeenAt), next);
+				}
+
+				state = next.apply(state);
+			}
+
+			return state;
+		}
+	},
+
+	/**
+	 * Brent's algorithm: a tortoise waits at every power of two while the hare walks on, so the period
+	 * is found with only two states in memory, at the cost of walking at most twice as far as the first
+	 * repeated state.
+	 */
+	BRENT {
+		@Override
+		public <S> S advance(S initial, long steps, UnaryOperator<S> next, Function<S, Fingerprint> fingerprint) {
+			if (steps == 0) {
+				return initial;
+			}
+
+			var tortoise = fingerprint.apply(initial);
+			var hare = next.apply(initial);
+			var step = 1L;
+			var power = 1L;
+			var period = 1L;
+
+			while (step < steps) {
+				Puzzle.checkpoint();
+
+				var hareFingerprint = fingerprint.apply(hare);
+				if (hareFingerprint.equals(tortoise)) {
+					return simulate(hare, (steps - step) % period, next);
+				}
+
+				if (period == power) {
+					tortoise = hareFingerprint;
+					power *= 2;
+					period = 0;
+				}
+
+				hare = next.apply(hare);
+				step++;
+				period++;
+			}
+
+			return hare;
+		}
+	};
+
+	/**
+	 * The state after {@code steps} applications of {@code next} to {@code initial}.
+	 */
+	public abstract <S> S advance(S initial, long steps, UnaryOperator<S> next, Function<S, Fingerprint> fingerprint);
+
+	private static <S> S simulate(S state, long steps, UnaryOperator<S> next) {
+		for (var step = 0L; step < steps; step++) {
+			state = next.apply(state);
+		}
+
+		return state;
+	}
+
+	public static CycleDetection parse(String name) {
+		try {
+			return valueOf(name.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Unknown cycle detection: " + name, e);
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package be.haex.puzzle.util;
+
+/**
+ * A 128-bit hash of a state, to recognise states seen before without keeping them around. Two
+ * independently seeded 64-bit hashes make an accidental collision between the few million states of
+ * a simulation practically impossible.
+ */
+public record Fingerprint(long high, long low) {
+
+	private static final long HIGH_SEED = 0x9E37_79B9_7F4A_7C15L;
+	private static final long LOW_SEED = 0xC2B2_AE3D_27D4_EB4FL;
+
+	public static Fingerprint of(long[] words) {
+		var high = HIGH_SEED;
+		var low = LOW_SEED;
+
+		for (var word : words) {
+			high = Long.rotateLeft(high ^ mix(word), 31) * 0x8796_1A5E_1F7E_7D8BL;
+			low = Long.rotateLeft(low ^ mix(word ^ LOW_SEED), 27) * 0x5851_F42D_4C95_7F2DL + HIGH_SEED;
+		}
+
+		return new Fingerprint(mix(high ^ words.length), mix(low + words.length));
+	}
+
+	/**
+	 * The finalisation step of MurmurHash3, which spreads every input bit over the whole result.
+	 */
+	private static long mix(long value) {
+		value ^= value >>> 33;
+		value *= 0xFF51_AFD7_ED55_8CCDL;
+		value ^= value >>> 33;
+		value *= 0xC4CE_B9FE_1A85_EC53L;
+		value ^= value >>> 33;
+
+		return value;
+	}
+}
@@ -0,0 +1,161 @@
+package be.haex.puzzle.util;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * A set of primitive longs using open addressing with linear probing. Keys are stored in a single
+ * {@code long[]}, so a search can track millions of visited states without allocating a node or a
+ * boxed key per state. Pack coordinates and other state into a key with {@link Packed}.
+ */
+public final class LongHashSet {
+
+	private static final int DEFAULT_CAPACITY = 16;
+	private static final long FREE = 0L;
+
+	private long[] keys;
+	private int mask;
+	private int size;
+	private boolean containsFree;
+
+	public LongHashSet() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public LongHashSet(int expectedSize) {
+		allocate(LongHashing.capacityFor(expectedSize));
+	}
+
+	public boolean add(long key) {
+		if (key == FREE) {
+			var added = !containsFree;
+			containsFree = true;
+			return added;
+		}
+
+		var slot = LongHashing.slot(key, mask);
+		while (keys[slot] != FREE) {
+			if (keys[slot] == key) {
+				return false;
+			}
+
+			slot = (slot + 1) & mask;
+		}
+
+		keys[slot] = key;
+		if (++size > LongHashing.maximumFill(keys.length)) {
+			rehash(keys.length << 1);
+		}
+
+		return true;
+	}
+
+	public boolean contains(long key) {
+		if (key == FREE) {
+			return containsFree;
+		}
+
+		var slot = LongHashing.slot(key, mask);
+		while (keys[slot] != FREE) {
+			if (keys[slot] == key) {
+				return true;
+			}
+
+			slot = (slot + 1) & mask;
+		}
+
+		return false;
+	}
+
+	public boolean remove(long key) {
+		if (key == FREE) {
+			var removed = containsFree;
+			containsFree = false;
+			return removed;
+		}
+
+		var slot = LongHashing.slot(key, mask);
+		while (keys[slot] != FREE) {
+			if (keys[slot] == key) {
+				shiftBack(slot);
+				size--;
+				return true;
+			}
+
+			slot = (slot + 1) & mask;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Closes the gap left by a removed key by moving later keys of the same probe run back, so
+	 * lookups never need tombstones.
+	 */
+	private void shiftBack(int gap) {
+		var slot = gap;
+
+		while (true) {
+			slot = (slot + 1) & mask;
+			var key = keys[slot];
+
+			if (key == FREE) {
+				keys[gap] = FREE;
+				return;
+			}
+
+			var home = LongHashing.slot(key, mask);
+			if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+				keys[gap] = key;
+				gap = slot;
+			}
+		}
+	}
+
+	public int size() {
+		return containsFree ? size + 1 : size;
+	}
+
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	public void clear() {
+		Arrays.fill(keys, FREE);
+		size = 0;
+		containsFree = false;
+	}
+
+	public void forEach(LongConsumer action) {
+		if (containsFree) {
+			action.accept(FREE);
+		}
+
+		for (var key : keys) {
+			if (key != FREE) {
+				action.accept(key);
+			}
+		}
+	}
+
+	private void rehash(int capacity) {
+		var oldKeys = keys;
+		allocate(capacity);
+
+		for (var key : oldKeys) {
+			if (key != FREE) {
+				var slot = LongHashing.slot(key, mask);
+				while (keys[slot] != FREE) {
+					slot = (slot + 1) & mask;
+				}
+
+				keys[slot] = key;
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		mask = capacity - 1;
+	}
+}
@@ -0,0 +1,39 @@
+package be.haex.puzzle.util;
+
+final class LongHashing {
+
+	private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+	private LongHashing() {
+	}
+
+	static int slot(long key, int mask) {
+		var hash = key * 0x9E37_79B9_7F4A_7C15L;
+
+		return (int) (hash ^ hash >>> 32) & mask;
+	}
+
+	/**
+	 * The smallest power of two that holds {@code expectedSize} keys without exceeding the maximum fill.
+	 */
+	static int capacityFor(int expectedSize) {
+		if (expectedSize < 0) {
+			throw new IllegalArgumentException("Expected a positive size, got <%d>!".formatted(expectedSize));
+		}
+
+		var capacity = 2;
+		while (maximumFill(capacity) < expectedSize) {
+			if (capacity == MAXIMUM_CAPACITY) {
+				throw new IllegalArgumentException("Expected at most %d keys, got <%d>!".formatted(maximumFill(MAXIMUM_CAPACITY), expectedSize));
+			}
+
+			capacity <<= 1;
+		}
+
+		return capacity;
+	}
+
+	static int maximumFill(int capacity) {
+		return capacity / 4 * 3;
+	}
+}
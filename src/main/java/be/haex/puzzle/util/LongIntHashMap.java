@@ -0,0 +1,124 @@
+package be.haex.puzzle.util;
+
+import java.util.Arrays;
+
+/**
+ * A map from primitive long keys to int values using open addressing with linear probing, the
+ * counterpart of {@link LongHashSet} for searches that keep a distance or a small label per state.
+ */
+public final class LongIntHashMap {
+
+	private static final int DEFAULT_CAPACITY = 16;
+	private static final long FREE = 0L;
+
+	private long[] keys;
+	private int[] values;
+	private int mask;
+	private int size;
+	private boolean containsFree;
+	private int freeValue;
+
+	public LongIntHashMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public LongIntHashMap(int expectedSize) {
+		allocate(LongHashing.capacityFor(expectedSize));
+	}
+
+	public void put(long key, int value) {
+		if (key == FREE) {
+			containsFree = true;
+			freeValue = value;
+			return;
+		}
+
+		var slot = LongHashing.slot(key, mask);
+		while (keys[slot] != FREE) {
+			if (keys[slot] == key) {
+				values[slot] = value;
+				return;
+			}
+
+			slot = (slot + 1) & mask;
+		}
+
+		keys[slot] = key;
+		values[slot] = value;
+		if (++size > LongHashing.maximumFill(keys.length)) {
+			rehash(keys.length << 1);
+		}
+	}
+
+	public int getOrDefault(long key, int defaultValue) {
+		if (key == FREE) {
+			return containsFree ? freeValue : defaultValue;
+		}
+
+		var slot = LongHashing.slot(key, mask);
+		while (keys[slot] != FREE) {
+			if (keys[slot] == key) {
+				return values[slot];
+			}
+
+			slot = (slot + 1) & mask;
+		}
+
+		return defaultValue;
+	}
+
+	public boolean containsKey(long key) {
+		if (key == FREE) {
+			return containsFree;
+		}
+
+		var slot = LongHashing.slot(key, mask);
+		while (keys[slot] != FREE) {
+			if (keys[slot] == key) {
+				return true;
+			}
+
+			slot = (slot + 1) & mask;
+		}
+
+		return false;
+	}
+
+	public int size() {
+		return containsFree ? size + 1 : size;
+	}
+
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	public void clear() {
+		Arrays.fill(keys, FREE);
+		size = 0;
+		containsFree = false;
+	}
+
+	private void rehash(int capacity) {
+		var oldKeys = keys;
+		var oldValues = values;
+		allocate(capacity);
+
+		for (var index = 0; index < oldKeys.length; index++) {
+			if (oldKeys[index] != FREE) {
+				var slot = LongHashing.slot(oldKeys[index], mask);
+				while (keys[slot] != FREE) {
+					slot = (slot + 1) & mask;
+				}
+
+				keys[slot] = oldKeys[index];
+				values[slot] = oldValues[index];
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new int[capacity];
+		mask = capacity - 1;
+	}
+}
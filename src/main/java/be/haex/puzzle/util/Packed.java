@@ -0,0 +1,23 @@
+package be.haex.puzzle.util;
+
+/**
+ * Packs two ints into one long, for keys of {@link LongHashSet} and {@link LongIntHashMap}. Both
+ * halves keep their sign, so negative coordinates round-trip.
+ */
+public final class Packed {
+
+	private Packed() {
+	}
+
+	public static long of(int high, int low) {
+		return (long) high << 32 | (low & 0xFFFF_FFFFL);
+	}
+
+	public static int high(long packed) {
+		return (int) (packed >> 32);
+	}
+
+	public static int low(long packed) {
+		return (int) packed;
+	}
+}
@@ -0,0 +1,143 @@
+package be.haex.puzzle;
+
+import be.haex.puzzle.day.PuzzleDayOne;
+import be.haex.puzzle.day.PuzzleDayTwelve;
+import be.haex.puzzle.day.PuzzleDayTwo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnswerCacheTest {
+
+	private static final int FIRST_ANSWER_LENGTH = 64 + 72;
+
+	private final Puzzle<?> puzzle = new PuzzleDayOne();
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void returnsStoredAnswersAfterReopening() throws IOException {
+		var file = directory.resolve("answers.bin");
+
+		try (var cache = AnswerCache.open(file, 64)) {
+			cache.put(1, Part.ONE, puzzle, input("abc"), 142L, Duration.ofMillis(3));
+		}
+
+		try (var cache = AnswerCache.open(file, 64)) {
+			var answer = cache.get(1, Part.ONE, puzzle, input("abc")).orElseThrow();
+
+			assertEquals("142", answer.value());
+			assertEquals(Duration.ofMillis(3), answer.solvedIn());
+		}
+	}
+
+	@Test
+	void treatsCorruptedAnswerLengthsAsMisses() throws IOException {
+		var file = directory.resolve("answers.bin");
+
+		try (var cache = AnswerCache.open(file, 8)) {
+			cache.put(1, Part.ONE, puzzle, input("abc"), 142L, Duration.ZERO);
+		}
+
+		for (var length : new int[]{-1, 1 << 30}) {
+			try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+				channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, length), FIRST_ANSWER_LENGTH);
+			}
+
+			try (var cache = AnswerCache.open(file, 8)) {
+				assertTrue(cache.get(1, Part.ONE, puzzle, input("abc")).isEmpty());
+			}
+		}
+	}
+
+	@Test
+	void keysAnswersByDayPartAndInput() throws IOException {
+		try (var cache = AnswerCache.open(directory.resolve("answers.bin"), 64)) {
+			cache.put(1, Part.ONE, puzzle, input("abc"), 142L, Duration.ZERO);
+
+			assertTrue(cache.get(1, Part.TWO, puzzle, input("abc")).isEmpty());
+			assertTrue(cache.get(2, Part.ONE, puzzle, input("abc")).isEmpty());
+			assertTrue(cache.get(1, Part.ONE, puzzle, input("abd")).isEmpty());
+		}
+	}
+
+	@Test
+	void keepsAnswersOfEveryConfiguration() throws IOException {
+		try (var cache = AnswerCache.open(directory.resolve("answers.bin"), 64)) {
+			cache.put(12, Part.TWO, new PuzzleDayTwelve(2), input("abc"), 206L, Duration.ZERO);
+			cache.put(12, Part.TWO, new PuzzleDayTwelve(5), input("abc"), 525_152L, Duration.ZERO);
+
+			assertEquals("206", cache.get(12, Part.TWO, new PuzzleDayTwelve(2), input("abc")).orElseThrow().value());
+			assertEquals("525152", cache.get(12, Part.TWO, new PuzzleDayTwelve(5), input("abc")).orElseThrow().value());
+			assertTrue(cache.get(12, Part.TWO, new PuzzleDayTwelve(3), input("abc")).isEmpty());
+		}
+	}
+
+	@Test
+	void keepsOnlyAnswersOfPartsThatReadTheirOwnInput() throws IOException {
+		try (var cache = AnswerCache.open(directory.resolve("answers.bin"), 64)) {
+			cache.solve(1, Part.ONE, puzzle, input("abd"), () -> lineCount("puzzleDayTwo.txt", input("abd")), Optional::of);
+			cache.solve(1, Part.ONE, puzzle, input("abe"), () -> lineCount(Part.ONE.inputFileName(puzzle), input("abe")), Optional::of);
+
+			assertTrue(cache.get(1, Part.ONE, puzzle, input("abd")).isEmpty());
+			assertEquals("1", cache.get(1, Part.ONE, puzzle, input("abe")).orElseThrow().value());
+		}
+	}
+
+	@Test
+	void ignoresAnswersOfOtherSolverVersions() throws IOException {
+		try (var cache = AnswerCache.open(directory.resolve("answers.bin"), 64)) {
+			cache.put(1, Part.ONE, puzzle, input("abc"), 142L, Duration.ZERO);
+
+			assertTrue(cache.get(1, Part.ONE, new PuzzleDayTwo(), input("abc")).isEmpty());
+		}
+	}
+
+	@Test
+	void keepsAtMostTheConfiguredNumberOfAnswers() throws IOException {
+		try (var cache = AnswerCache.open(directory.resolve("answers.bin"), 8)) {
+			IntStream.range(0, 9)
+					.forEach(index -> cache.put(1, Part.ONE, puzzle, input("input " + index), index, Duration.ZERO));
+
+			assertTrue(cache.get(1, Part.ONE, puzzle, input("input 0")).isEmpty());
+			assertEquals("8", cache.get(1, Part.ONE, puzzle, input("input 8")).orElseThrow().value());
+		}
+	}
+
+	@Test
+	void evictsTheLeastRecentlyUsedAnswer() throws IOException {
+		try (var cache = AnswerCache.open(directory.resolve("answers.bin"), 8)) {
+			IntStream.range(0, 8)
+					.forEach(index -> cache.put(1, Part.ONE, puzzle, input("input " + index), index, Duration.ZERO));
+
+			cache.get(1, Part.ONE, puzzle, input("input 0"));
+			cache.put(1, Part.ONE, puzzle, input("input 8"), 8, Duration.ZERO);
+
+			assertEquals("0", cache.get(1, Part.ONE, puzzle, input("input 0")).orElseThrow().value());
+			assertTrue(cache.get(1, Part.ONE, puzzle, input("input 1")).isEmpty());
+		}
+	}
+
+	private static PuzzleInput input(String content) {
+		return PuzzleInput.of(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private AnswerCache.Answer lineCount(String fileName, PuzzleInput input) {
+		var lines = PuzzleInputOverride.with(input, () -> puzzle.readContentOfInputFile(fileName)).size();
+
+		return new AnswerCache.Answer(String.valueOf(lines), Duration.ZERO);
+	}
+}
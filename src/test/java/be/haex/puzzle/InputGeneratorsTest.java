@@ -0,0 +1,42 @@
+package be.haex.puzzle;
+
+import be.haex.puzzle.generator.InputGenerators;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InputGeneratorsTest {
+
+	private static final int SIZE = 12;
+
+	private final PuzzleRegistry registry = PuzzleRegistry.standard();
+
+	@Test
+	void generatesSameInputForSameSeed() {
+		for (var day : InputGenerators.days()) {
+			var generator = InputGenerators.forDay(day);
+
+			assertEquals(generator.generate(1, SIZE).sha256(), generator.generate(1, SIZE).sha256());
+			assertNotEquals(generator.generate(1, SIZE).sha256(), generator.generate(2, SIZE).sha256());
+		}
+	}
+
+	@Test
+	void generatesInputsEveryPuzzleCanSolve() {
+		for (var day : InputGenerators.days()) {
+			var puzzle = registry.load(day);
+			var input = InputGenerators.forDay(day).generate(2023, SIZE);
+
+			assertDoesNotThrow(() -> PuzzleInputOverride.with(input, puzzle::solvePartOne), "Day " + day + " part one");
+			assertDoesNotThrow(() -> PuzzleInputOverride.with(input, puzzle::solvePartTwo), "Day " + day + " part two");
+		}
+	}
+
+	@Test
+	void rejectsDaysWithoutGenerator() {
+		assertThrows(IllegalArgumentException.class, () -> InputGenerators.forDay(1));
+	}
+}
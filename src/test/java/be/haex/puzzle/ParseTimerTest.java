@@ -0,0 +1,42 @@
+package be.haex.puzzle;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParseTimerTest {
+
+	@Test
+	void timesOnlyTheParsesOfASolve() {
+		var start = System.nanoTime();
+		var timed = ParseTimer.timing(() -> {
+			var parsed = ParseTimer.parse(() -> sleep(Duration.ofMillis(20), 1));
+
+			return parsed + sleep(Duration.ofMillis(40), 2);
+		});
+		var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+		assertEquals(3, timed.value());
+		assertTrue(timed.parsing().compareTo(Duration.ofMillis(20)) >= 0);
+		assertTrue(timed.parsing().compareTo(elapsed.minusMillis(40)) <= 0);
+	}
+
+	@Test
+	void parsesWithoutTiming() {
+		assertEquals(1, ParseTimer.parse(() -> 1));
+		assertEquals(Duration.ZERO, ParseTimer.timing(() -> 1).parsing());
+	}
+
+	private static int sleep(Duration duration, int value) {
+		var deadline = System.nanoTime() + duration.toNanos();
+		while (System.nanoTime() < deadline) {
+			LockSupport.parkNanos(deadline - System.nanoTime());
+		}
+
+		return value;
+	}
+}
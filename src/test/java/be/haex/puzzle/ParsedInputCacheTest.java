@@ -0,0 +1,152 @@
+package be.haex.puzzle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParsedInputCacheTest {
+
+	private final AtomicInteger parses = new AtomicInteger();
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void parsesSameContentOnlyOnce() {
+		var cache = new ParsedInputCache(4);
+
+		var first = cache.get(Integer.class, "input.txt", input("1\n2\n3"), this::countLines);
+		var second = cache.get(Integer.class, "input.txt", input("1\n2\n3"), this::countLines);
+
+		assertEquals(3, first);
+		assertEquals(3, second);
+		assertEquals(1, parses.get());
+	}
+
+	@Test
+	void reparsesWhenContentChanges() {
+		var cache = new ParsedInputCache(4);
+
+		cache.get(Integer.class, "input.txt", input("1\n2\n3"), this::countLines);
+		var changed = cache.get(Integer.class, "input.txt", input("1\n2"), this::countLines);
+
+		assertEquals(2, changed);
+		assertEquals(2, parses.get());
+	}
+
+	@Test
+	void parsesCachedModelsAgainWithoutChangingThem() {
+		var cache = new ParsedInputCache(4);
+		var first = cache.get(Integer.class, "input.txt", input("1\n2\n3"), this::countLines);
+
+		assertEquals(List.of(3), cache.parseAgain());
+		assertSame(first, cache.get(Integer.class, "input.txt", input("1\n2\n3"), this::countLines));
+		assertEquals(2, parses.get());
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedEntries() {
+		var cache = new ParsedInputCache(2);
+
+		cache.get(Integer.class, "one.txt", input("1"), this::countLines);
+		cache.get(Integer.class, "two.txt", input("1"), this::countLines);
+		cache.get(Integer.class, "one.txt", input("1"), this::countLines);
+		cache.get(Integer.class, "three.txt", input("1"), this::countLines);
+
+		assertEquals(2, cache.size());
+
+		cache.get(Integer.class, "two.txt", input("1"), this::countLines);
+		assertEquals(4, parses.get());
+
+		cache.evictAll();
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void isOnlyUsedWhileBoundToTheSolvingThread() throws IOException {
+		var cache = new ParsedInputCache(4);
+		var reads = new AtomicInteger();
+		var location = write("input.txt", "1");
+
+		ParsedInputCache.with(cache, () -> {
+			assertSame(cache, ParsedInputCache.current().orElseThrow());
+
+			var first = cache.resource("input.txt", location, () -> countRead(reads));
+			var second = cache.resource("input.txt", location, () -> countRead(reads));
+
+			assertSame(first, second);
+			return null;
+		});
+
+		assertEquals(1, reads.get());
+		assertTrue(ParsedInputCache.current().isEmpty());
+
+		cache.evict("input.txt");
+		cache.resource("input.txt", location, () -> countRead(reads));
+		assertEquals(2, reads.get());
+	}
+
+	@Test
+	void readsResourcesAgainWhenTheyChange() throws IOException {
+		var cache = new ParsedInputCache(4);
+		var reads = new AtomicInteger();
+		var location = write("input.txt", "1");
+
+		cache.resource("input.txt", location, () -> countRead(reads));
+		write("input.txt", "1\n2");
+		Files.setLastModifiedTime(directory.resolve("input.txt"), FileTime.from(Instant.now().plusSeconds(60)));
+		cache.resource("input.txt", location, () -> countRead(reads));
+
+		assertEquals(2, reads.get());
+	}
+
+	@Test
+	void keepsAtMostTheConfiguredNumberOfResources() throws IOException {
+		var cache = new ParsedInputCache(2);
+		var reads = new AtomicInteger();
+		var one = write("one.txt", "1");
+		var two = write("two.txt", "2");
+		var three = write("three.txt", "3");
+
+		cache.resource("one.txt", one, () -> countRead(reads));
+		cache.resource("two.txt", two, () -> countRead(reads));
+		cache.resource("three.txt", three, () -> countRead(reads));
+		cache.resource("three.txt", three, () -> countRead(reads));
+		cache.resource("one.txt", one, () -> countRead(reads));
+
+		assertEquals(4, reads.get());
+	}
+
+	private URL write(String fileName, String content) throws IOException {
+		return Files.writeString(directory.resolve(fileName), content).toUri().toURL();
+	}
+
+	private PuzzleInput countRead(AtomicInteger reads) {
+		reads.incrementAndGet();
+
+		return input("1");
+	}
+
+	private Integer countLines(PuzzleInput input) {
+		parses.incrementAndGet();
+
+		return input.lineCount();
+	}
+
+	private PuzzleInput input(String content) {
+		return PuzzleInput.of(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,85 @@
+package be.haex.puzzle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PuzzleBatchTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void reportsTheAnswersOfEveryInputWhenVerbose() throws IOException, InterruptedException {
+		Files.writeString(directory.resolve("a.txt"), "1 2 3\n2 4 6\n");
+		Files.writeString(directory.resolve("b.txt"), "0 3 6 9\n");
+
+		var output = solve(Map.of("day", "9", "dir", directory.toString(), "threads", "2", "verbose", "true"));
+
+		assertTrue(output.get(0).startsWith("Advent of Code 2023 --- Day 9 batch of 2 inputs"));
+		assertTrue(output.get(1).startsWith("a.txt: Part One 12, Part Two 0 (in "));
+		assertTrue(output.get(2).startsWith("b.txt: Part One 12, Part Two -3 (in "));
+		assertTrue(output.get(3).startsWith("Solved 2 inputs (0 failed)"));
+		assertTrue(output.get(4).startsWith("Latency: "));
+	}
+
+	@Test
+	void reportsOnlyFailedInputsByDefault() throws IOException, InterruptedException {
+		Files.writeString(directory.resolve("a.txt"), "1 2 3\n2 4 6\n");
+		Files.writeString(directory.resolve("b.txt"), "x y\n");
+
+		var output = solve(Map.of("day", "9", "dir", directory.toString(), "part", "1"));
+
+		assertEquals(4, output.size());
+		assertEquals("b.txt: failed with java.lang.IllegalArgumentException: Expected a history of at least one value, got <x y>!", output.get(1));
+		assertTrue(output.get(2).startsWith("Solved 1 inputs (1 failed)"));
+	}
+
+	@Test
+	void reusesCachedAnswersOfEarlierBatches() throws IOException, InterruptedException {
+		var inputs = Files.createDirectory(directory.resolve("inputs"));
+		Files.writeString(inputs.resolve("a.txt"), "1 2 3\n2 4 6\n");
+		var flags = Map.of("day", "9", "dir", inputs.toString(), "verbose", "true");
+
+		try (var answerCache = AnswerCache.open(directory.resolve("answers.bin"), 64)) {
+			var first = solve(flags, Optional.of(answerCache));
+			var second = solve(flags, Optional.of(answerCache));
+
+			assertTrue(first.get(1).startsWith("a.txt: Part One 12, Part Two 0 (in "));
+			assertTrue(second.get(1).startsWith("a.txt: Part One 12 (cached, solved in "));
+		}
+	}
+
+	@Test
+	void requiresTheDayAndDirectory() {
+		assertThrows(IllegalArgumentException.class, () -> solve(Map.of("dir", directory.toString())));
+		assertThrows(IllegalArgumentException.class, () -> solve(Map.of("day", "9")));
+	}
+
+	private List<String> solve(Map<String, String> flags) throws IOException, InterruptedException {
+		return solve(flags, Optional.empty());
+	}
+
+	private List<String> solve(Map<String, String> flags, Optional<AnswerCache> answerCache) throws IOException, InterruptedException {
+		var output = new ByteArrayOutputStream();
+
+		try (var out = new PrintStream(output, true, StandardCharsets.UTF_8)) {
+			PuzzleBatch.solve(new Options("batch", flags), PuzzleRegistry.standard(), answerCache, new ParsedInputCache(4), out);
+		}
+
+		return output.toString(StandardCharsets.UTF_8).lines().toList();
+	}
+}
@@ -0,0 +1,67 @@
+package be.haex.puzzle;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PuzzleInputLogTest {
+
+	private final Puzzle<Integer> puzzle = new Puzzle<>() {
+
+		@Override
+		public Integer solvePartOne() {
+			return readContentOfInputFile("puzzleDayNine.txt").size();
+		}
+
+		@Override
+		public Integer solvePartTwo() {
+			return readPuzzleInput("puzzleDayNine.txt").lineCount() + (int) streamPuzzleInput("puzzleDayTwentyOne.txt").count();
+		}
+	};
+
+	@Test
+	void logsTheResourcesASolveReads() {
+		var partOne = PuzzleInputLog.recording(puzzle::solvePartOne);
+		var partTwo = PuzzleInputLog.recording(puzzle::solvePartTwo);
+
+		assertEquals(Set.of("puzzleDayNine.txt"), partOne.fileNames());
+		assertEquals(Set.of("puzzleDayNine.txt", "puzzleDayTwentyOne.txt"), partTwo.fileNames());
+		assertEquals(puzzle.solvePartOne(), partOne.value());
+	}
+
+	@Test
+	void logsOverriddenInputsByTheirName() {
+		var input = PuzzleInput.of("1 2 3".getBytes(StandardCharsets.UTF_8));
+		var recorded = PuzzleInputLog.recording(() -> PuzzleInputOverride.with(input, puzzle::solvePartOne));
+
+		assertEquals(1, recorded.value());
+		assertEquals(Set.of("puzzleDayNine.txt"), recorded.fileNames());
+	}
+
+	@Test
+	void namesTheInputOfEveryPart() {
+		assertEquals("puzzleDayNine.txt", Part.ONE.inputFileName(new PuzzleDayNineLike()));
+		assertEquals("puzzleDayNine.txt", Part.TWO.inputFileName(new PuzzleDayNineLike()));
+	}
+
+	private static final class PuzzleDayNineLike implements Puzzle<Void> {
+
+		@Override
+		public String inputFileName() {
+			return "puzzleDayNine.txt";
+		}
+
+		@Override
+		public Void solvePartOne() {
+			return null;
+		}
+
+		@Override
+		public Void solvePartTwo() {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package be.haex.puzzle;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PuzzleInputTest {
+
+	private final PuzzleInput input = PuzzleInput.of("0 3 -6\r\n#.#\n\n12 15".getBytes(StandardCharsets.UTF_8));
+
+	@Test
+	void slicesLinesWithoutLineTerminators() {
+		assertEquals(4, input.lineCount());
+		assertEquals("0 3 -6", input.lineAsString(0));
+		assertEquals("#.#", input.lineAsString(1));
+		assertEquals(0, input.lineLength(2));
+		assertEquals("12 15", input.lineAsString(3));
+		assertEquals('#', input.byteAt(1, 2));
+	}
+
+	@Test
+	void parsesNumbersStraightFromBytes() {
+		assertArrayEquals(new long[]{0, 3, -6}, PuzzleInput.parseLongs(input.line(0)));
+		assertArrayEquals(new long[]{12, 15}, PuzzleInput.parseLongs(input.line(3)));
+	}
+
+	@Test
+	void readsClasspathResourcesAsMappedBytes() {
+		Puzzle<Void> puzzle = new Puzzle<>() {
+
+			@Override
+			public Void solvePartOne() {
+				return null;
+			}
+
+			@Override
+			public Void solvePartTwo() {
+				return null;
+			}
+		};
+
+		var input = puzzle.readPuzzleInput("puzzleDayNine.txt");
+
+		assertEquals(puzzle.readContentOfInputFile("puzzleDayNine.txt").size(), input.lineCount());
+		assertEquals(puzzle.readContentOfInputFile("puzzleDayNine.txt").getFirst(), input.lineAsString(0));
+	}
+}
@@ -0,0 +1,34 @@
+package be.haex.puzzle;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PuzzleRegistryTest {
+
+	private final PuzzleRegistry registry = PuzzleRegistry.standard();
+
+	@Test
+	void listsEveryDayOfAdvent() {
+		assertEquals(24, registry.days().size());
+		assertEquals(1, registry.days().getFirst());
+		assertEquals(24, registry.days().getLast());
+	}
+
+	@Test
+	void constructsOnlyRequestedPuzzles() {
+		var puzzle = registry.load(5);
+
+		assertTrue(registry.isLoaded(5));
+		assertFalse(registry.isLoaded(6));
+		assertTrue(puzzle == registry.load(5));
+	}
+
+	@Test
+	void rejectsUnknownDays() {
+		assertThrows(IllegalArgumentException.class, () -> registry.load(25));
+	}
+}
@@ -0,0 +1,51 @@
+package be.haex.puzzle;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PuzzleServerTest {
+
+	@Test
+	void solvesRequestsOverTheSameConnection() throws IOException {
+		try (var server = PuzzleServer.open(new Options("serve", Map.of("port", "0")), PuzzleRegistry.standard(), new ParsedInputCache(4))) {
+			Thread.ofVirtual().start(() -> {
+				try {
+					server.run();
+				} catch (IOException e) {
+					throw new IllegalStateException(e);
+				}
+			});
+
+			var address = (InetSocketAddress) server.localAddress();
+			try (var socket = new Socket(address.getAddress(), address.getPort());
+				 var output = socket.getOutputStream();
+				 var input = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+				var payload = "1 2 3\n2 4 6".getBytes(StandardCharsets.UTF_8);
+
+				output.write("9 1 %d\n".formatted(payload.length).getBytes(StandardCharsets.UTF_8));
+				output.write(payload);
+				output.write("9 2\n".getBytes(StandardCharsets.UTF_8));
+				output.write("26 1\n".getBytes(StandardCharsets.UTF_8));
+				output.flush();
+
+				assertEquals("OK 12", withoutTiming(input.readLine()));
+				assertEquals("OK 2", withoutTiming(input.readLine()));
+				assertTrue(input.readLine().startsWith("ERROR Cannot load puzzle for day <26>"));
+			}
+		}
+	}
+
+	private String withoutTiming(String response) {
+		return response.substring(0, response.lastIndexOf(' '));
+	}
+}
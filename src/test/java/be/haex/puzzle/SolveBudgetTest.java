@@ -0,0 +1,65 @@
+package be.haex.puzzle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolveBudgetTest {
+
+	@Test
+	void runsWithoutLimitsWhenNoBudgetIsGiven() {
+		var budget = SolveBudget.from(Options.parse(new String[]{"1"}));
+
+		assertTrue(budget.isEmpty());
+		assertEquals(1_000_000, SolveBudget.with(budget, () -> spin(1_000_000)));
+	}
+
+	@Test
+	void stopsLoopsThatExceedTheStepBudget() {
+		var budget = SolveBudget.from(Options.parse(new String[]{"1", "--max-steps=100"}));
+
+		assertEquals(100, SolveBudget.with(budget, () -> spin(100)));
+		assertThrows(PuzzleTimeoutException.class, () -> SolveBudget.with(budget, () -> spin(101)));
+	}
+
+	@Test
+	void stopsLoopsThatExceedTheTimeBudget() {
+		var budget = SolveBudget.from(Options.parse(new String[]{"1", "--timeout=10"}));
+
+		assertThrows(PuzzleTimeoutException.class, () -> SolveBudget.with(budget, () -> spin(Long.MAX_VALUE)));
+	}
+
+	@Test
+	void restartsTheBudgetForEverySolve() {
+		var budget = SolveBudget.from(Options.parse(new String[]{"1", "--max-steps=100"}));
+
+		SolveBudget.with(budget, () -> spin(100));
+
+		assertEquals(100, SolveBudget.with(budget, () -> spin(100)));
+	}
+
+	@Test
+	void stopsLoopsOfInterruptedThreads() {
+		Thread.currentThread().interrupt();
+
+		try {
+			assertThrows(PuzzleTimeoutException.class, () -> SolveBudget.with(Optional.empty(), () -> spin(1)));
+		} finally {
+			Thread.interrupted();
+		}
+	}
+
+	private static long spin(long steps) {
+		var done = 0L;
+		while (done < steps) {
+			Puzzle.checkpoint();
+			done++;
+		}
+
+		return done;
+	}
+}
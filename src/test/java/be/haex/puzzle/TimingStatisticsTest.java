@@ -0,0 +1,37 @@
+package be.haex.puzzle;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TimingStatisticsTest {
+
+	@Test
+	void summarisesMeasurements() {
+		var measurements = LongStream.rangeClosed(1, 100)
+				.mapToObj(Duration::ofMillis)
+				.toList();
+
+		var statistics = TimingStatistics.of(Duration.ofSeconds(1), measurements);
+
+		assertEquals(100, statistics.samples());
+		assertEquals(Duration.ofSeconds(1), statistics.cold());
+		assertEquals(Duration.ofMillis(1), statistics.minimum());
+		assertEquals(Duration.ofMillis(50), statistics.median());
+		assertEquals(Duration.ofNanos(50_500_000), statistics.mean());
+		assertEquals(Duration.ofMillis(90), statistics.p90());
+		assertEquals(Duration.ofMillis(99), statistics.p99());
+	}
+
+	@Test
+	void hasNoDeviationForIdenticalMeasurements() {
+		var statistics = TimingStatistics.of(Duration.ofMillis(3), List.of(Duration.ofMillis(2), Duration.ofMillis(2)));
+
+		assertEquals(Duration.ZERO, statistics.standardDeviation());
+		assertEquals(Duration.ofMillis(2), statistics.p99());
+	}
+}
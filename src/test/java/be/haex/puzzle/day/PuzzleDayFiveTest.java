@@ -4,6 +4,7 @@ import be.haex.puzzle.Puzzle;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class PuzzleDayFiveTest {
 
@@ -18,4 +19,9 @@ class PuzzleDayFiveTest {
 	void solvePartTwo() {
 		assertEquals(46, puzzle.solvePartTwo());
 	}
+
+	@Test
+	void solvePartTwoRejectsEmptyRanges() {
+		assertThrows(IllegalArgumentException.class, new PuzzleDayFive("puzzleDayFiveEmptyRange.txt")::solvePartTwo);
+	}
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package be.haex.puzzle.day;
 
 import be.haex.puzzle.Puzzle;
+import be.haex.puzzle.util.CycleDetection;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -18,4 +19,9 @@ class PuzzleDayFourteenTest {
 	void solvePartTwo() {
 		assertEquals(64, puzzle.solvePartTwo());
 	}
+
+	@Test
+	void solvePartTwoWithBrentCycleDetection() {
+		assertEquals(64, new PuzzleDayFourteen(CycleDetection.BRENT).solvePartTwo());
+	}
 }
\ No newline at end of file
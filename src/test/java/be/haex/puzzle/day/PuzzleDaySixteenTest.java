@@ -18,4 +18,14 @@ class PuzzleDaySixteenTest {
 	void solvePartTwo() {
 		assertEquals(51, puzzle.solvePartTwo());
 	}
-}
\ No newline at end of file
+
+	@Test
+	void solvePartOneWithLoops() {
+		assertEquals(20, new PuzzleDaySixteen("puzzleDaySixteenLoops.txt").solvePartOne());
+	}
+
+	@Test
+	void solvePartTwoWithLoops() {
+		assertEquals(60, new PuzzleDaySixteen("puzzleDaySixteenLoops.txt").solvePartTwo());
+	}
+}
@@ -3,19 +3,46 @@ package be.haex.puzzle.day;
 import be.haex.puzzle.Puzzle;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigInteger;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class PuzzleDayTwelveTest {
 
-	private final Puzzle<Long> puzzle = new PuzzleDayTwelve();
+	private final Puzzle<BigInteger> puzzle = new PuzzleDayTwelve();
 
 	@Test
 	void solvePartOne() {
-		assertEquals(21, puzzle.solvePartOne());
+		assertEquals(BigInteger.valueOf(21), puzzle.solvePartOne());
 	}
 
 	@Test
 	void solvePartTwo() {
-		assertEquals(525_152, puzzle.solvePartTwo());
+		assertEquals(BigInteger.valueOf(525_152), puzzle.solvePartTwo());
+	}
+
+	@Test
+	void solvePartTwoWithoutUnfolding() {
+		var notUnfolded = new PuzzleDayTwelve(1);
+
+		assertEquals(notUnfolded.solvePartOne(), notUnfolded.solvePartTwo());
+	}
+
+	@Test
+	void solvePartTwoUnfoldedTwice() {
+		assertEquals(BigInteger.valueOf(206), new PuzzleDayTwelve(2).solvePartTwo());
+	}
+
+	@Test
+	void solvePartTwoBeyondALong() {
+		assertEquals(new BigInteger("42508100014270686084073611161871194302582718207551836200876"), new PuzzleDayTwelve(50).solvePartTwo());
+	}
+
+	@Test
+	void solveRowUnfolded() {
+		assertEquals(BigInteger.valueOf(10), new PuzzleDayTwelve("puzzleDayTwelveRow.txt", 1).solvePartTwo());
+		assertEquals(BigInteger.valueOf(150), new PuzzleDayTwelve("puzzleDayTwelveRow.txt", 2).solvePartTwo());
+		assertEquals(BigInteger.valueOf(2_250), new PuzzleDayTwelve("puzzleDayTwelveRow.txt", 3).solvePartTwo());
+		assertEquals(new BigInteger("221683782005310058593750"), new PuzzleDayTwelve("puzzleDayTwelveRow.txt", 20).solvePartTwo());
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package be.haex.puzzle.grid;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BitGridTest {
+
+	private final BitGrid bits = BitGrid.of(Grid.parse(List.of(
+			"#..#",
+			".#..",
+			"...#"
+	)), (byte) '#');
+
+	@Test
+	void storesCellsHoldingTheValue() {
+		assertEquals("1001\n0100\n0001", bits.toString());
+		assertEquals(2, bits.count(0));
+		assertEquals(1, bits.count(0, 1, 4));
+		assertEquals(3, bits.nextSetColumn(0, 1));
+		assertEquals(4, bits.nextSetColumn(1, 2));
+	}
+
+	@Test
+	void countsAndFillsRunsAcrossWords() {
+		var wide = new BitGrid(2, 200);
+		wide.set(1, 60, 130);
+
+		assertEquals(0, wide.count(0));
+		assertEquals(70, wide.count(1));
+		assertEquals(10, wide.count(1, 120, 199));
+		assertEquals(60, wide.nextSetColumn(1, 0));
+		assertEquals(200, wide.nextSetColumn(1, 130));
+
+		wide.clear(1, 63, 129);
+
+		assertEquals(4, wide.count(1));
+		assertEquals(129, wide.nextSetColumn(1, 63));
+	}
+
+	@Test
+	void transposesRowsIntoColumns() {
+		assertEquals("100\n010\n000\n101", bits.transposed().toString());
+
+		var random = new Random(14);
+		var large = new BitGrid(70, 150);
+		for (var cell = 0; cell < 3000; cell++) {
+			large.set(random.nextInt(70), random.nextInt(150));
+		}
+
+		var transposed = large.transposed();
+		for (var row = 0; row < 70; row++) {
+			for (var column = 0; column < 150; column++) {
+				assertEquals(large.get(row, column), transposed.get(column, row));
+			}
+		}
+		assertEquals(large, transposed.transposed());
+	}
+}
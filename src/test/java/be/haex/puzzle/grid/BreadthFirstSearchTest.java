@@ -0,0 +1,45 @@
+package be.haex.puzzle.grid;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BreadthFirstSearchTest {
+
+	private final Grid grid = Grid.parse(List.of(
+			"..#..",
+			"..#..",
+			"....."
+	));
+
+	@Test
+	void reportsEveryLayerFromMultipleStarts() {
+		var layers = new ArrayList<Integer>();
+		var search = BreadthFirstSearch.over(grid, cell -> grid.get(cell) != '#')
+				.start(grid.index(0, 0))
+				.start(grid.index(0, 4));
+
+		var depth = search.run(Integer.MAX_VALUE, (distance, size) -> layers.add(size));
+
+		assertEquals(List.of(2, 4, 4, 2, 1), layers);
+		assertEquals(4, depth);
+		assertEquals(13, search.visitedCount());
+		assertFalse(search.visited(grid.index(0, 2)));
+	}
+
+	@Test
+	void stopsAfterTheMaximumDepth() {
+		var search = BreadthFirstSearch.over(grid, cell -> grid.get(cell) != '#')
+				.start(grid.index(0, 0));
+
+		assertEquals(2, search.run(2, (distance, size) -> {
+		}));
+		assertTrue(search.visited(grid.index(2, 0)));
+		assertFalse(search.visited(grid.index(2, 1)));
+	}
+}
@@ -0,0 +1,78 @@
+package be.haex.puzzle.grid;
+
+import be.haex.puzzle.PuzzleInput;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GridTest {
+
+	private final Grid grid = Grid.parse(List.of(
+			"abc",
+			"def"
+	));
+
+	@Test
+	void addressesCellsByRowMajorIndex() {
+		assertEquals(2, grid.rows());
+		assertEquals(3, grid.columns());
+		assertEquals(4, grid.index(1, 1));
+		assertEquals(1, grid.row(5));
+		assertEquals(2, grid.column(5));
+		assertEquals('e', grid.get(4));
+		assertEquals(5, grid.indexOf((byte) 'f'));
+		assertEquals(-1, grid.indexOf((byte) 'x'));
+	}
+
+	@Test
+	void visitsOnlyNeighboursInsideTheGrid() {
+		var neighbours = new ArrayList<Integer>();
+		grid.forEachNeighbour(0, neighbours::add);
+
+		assertEquals(List.of(1, 3), neighbours);
+		assertEquals(-1, grid.neighbour(0, -1, 0));
+		assertEquals(3, grid.neighbour(4, 0, -1));
+	}
+
+	@Test
+	void viewsShareCellsWithTheirGrid() {
+		assertEquals("ad\nbe\ncf", grid.transposed().toString());
+		assertEquals("da\neb\nfc", grid.rotatedClockwise().toString());
+		assertEquals("cf\nbe\nad", grid.rotatedCounterClockwise().toString());
+		assertEquals("fed\ncba", grid.rotatedHalfTurn().toString());
+		assertEquals(grid, grid.rotatedClockwise().rotatedCounterClockwise());
+
+		var copy = grid.copy();
+		copy.rotatedClockwise().set(0, 0, (byte) 'x');
+
+		assertEquals("abc\nxef", copy.toString());
+		assertNotEquals(grid, copy);
+	}
+
+	@Test
+	void padsWithSentinelCells() {
+		var padded = grid.padded(1, (byte) '#');
+
+		assertEquals("#####\n#abc#\n#def#\n#####", padded.toString());
+		assertEquals('#', padded.get(padded.index(1, 1) + padded.offset(-1, -1)));
+	}
+
+	@Test
+	void parsesRowsStraightFromTheInputBytes() {
+		var input = PuzzleInput.of("abc\r\ndef\n".getBytes(StandardCharsets.UTF_8));
+
+		assertEquals(grid, Grid.parse(input));
+	}
+
+	@Test
+	void rejectsRaggedRows() {
+		assertThrows(IllegalArgumentException.class, () -> Grid.parse(List.of("ab", "c")));
+		assertThrows(IllegalArgumentException.class, () -> Grid.parse(PuzzleInput.of("ab\nc".getBytes(StandardCharsets.UTF_8))));
+	}
+}
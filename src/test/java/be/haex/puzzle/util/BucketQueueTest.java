@@ -0,0 +1,42 @@
+package be.haex.puzzle.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BucketQueueTest {
+
+	@Test
+	void pollsInPriorityOrderAcrossTheRing() {
+		var queue = new BucketQueue(3);
+		queue.add(10, 2);
+		queue.add(11, 0);
+		queue.add(12, 3);
+
+		assertEquals(11, queue.poll());
+		assertEquals(0, queue.priority());
+		assertEquals(10, queue.poll());
+		assertEquals(2, queue.priority());
+
+		queue.add(13, 5);
+		queue.add(14, 4);
+
+		assertEquals(12, queue.poll());
+		assertEquals(14, queue.poll());
+		assertEquals(13, queue.poll());
+		assertEquals(5, queue.priority());
+		assertTrue(queue.isEmpty());
+	}
+
+	@Test
+	void rejectsPrioritiesOutsideTheWindow() {
+		var queue = new BucketQueue(3);
+		queue.add(1, 2);
+		queue.poll();
+
+		assertThrows(IllegalArgumentException.class, () -> queue.add(2, 1));
+		assertThrows(IllegalArgumentException.class, () -> queue.add(2, 6));
+	}
+}
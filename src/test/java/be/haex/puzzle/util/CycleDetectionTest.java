@@ -0,0 +1,59 @@
+package be.haex.puzzle.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CycleDetectionTest {
+
+	private static final UnaryOperator<Long> NEXT = value -> (value * value + 1) % 1_009;
+	private static final Function<Long, Fingerprint> FINGERPRINT = value -> Fingerprint.of(new long[]{value});
+
+	@Test
+	void skipsWholePeriodsOfTheSimulation() {
+		for (var cycleDetection : CycleDetection.values()) {
+			for (var steps : new long[]{0, 1, 2, 17, 100, 1_000, 12_345}) {
+				assertEquals(simulate(3L, steps), cycleDetection.advance(3L, steps, NEXT, FINGERPRINT), cycleDetection + " after " + steps);
+			}
+
+			var manySteps = 1_000_000_000_000L - 1_000_000_000_000L % period() + 1_234_567;
+			assertEquals(simulate(3L, 1_234_567), cycleDetection.advance(3L, manySteps, NEXT, FINGERPRINT), cycleDetection.toString());
+		}
+	}
+
+	private static long period() {
+		var state = simulate(3L, 10_000);
+		var period = 1;
+		for (var next = NEXT.apply(state); next != state; next = NEXT.apply(next)) {
+			period++;
+		}
+
+		return period;
+	}
+
+	private static long simulate(long state, long steps) {
+		for (var step = 0; step < steps; step++) {
+			state = NEXT.apply(state);
+		}
+
+		return state;
+	}
+
+	@Test
+	void fingerprintsDependOnEveryWord() {
+		assertEquals(Fingerprint.of(new long[]{1, 2}), Fingerprint.of(new long[]{1, 2}));
+		assertNotEquals(Fingerprint.of(new long[]{1, 2}), Fingerprint.of(new long[]{2, 1}));
+		assertNotEquals(Fingerprint.of(new long[]{0}), Fingerprint.of(new long[]{0, 0}));
+	}
+
+	@Test
+	void rejectsUnknownStrategies() {
+		assertEquals(CycleDetection.BRENT, CycleDetection.parse("brent"));
+		assertThrows(IllegalArgumentException.class, () -> CycleDetection.parse("floyd"));
+	}
+}
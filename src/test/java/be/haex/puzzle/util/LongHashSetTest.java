@@ -0,0 +1,52 @@
+package be.haex.puzzle.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongHashSetTest {
+
+	@Test
+	void keepsPackedCoordinatesIncludingZeroAndNegatives() {
+		var set = new LongHashSet();
+
+		assertTrue(set.add(Packed.of(0, 0)));
+		assertTrue(set.add(Packed.of(-1, 5)));
+		assertFalse(set.add(Packed.of(-1, 5)));
+
+		assertTrue(set.contains(Packed.of(0, 0)));
+		assertFalse(set.contains(Packed.of(5, -1)));
+		assertEquals(2, set.size());
+		assertEquals(-1, Packed.high(Packed.of(-1, 5)));
+		assertEquals(5, Packed.low(Packed.of(-1, 5)));
+	}
+
+	@Test
+	void behavesLikeAHashSetWhileGrowingAndRemoving() {
+		var random = new Random(2023);
+		var expected = new HashSet<Long>();
+		var actual = new LongHashSet();
+
+		for (var i = 0; i < 50_000; i++) {
+			var key = (long) random.nextInt(2_000) - 1_000;
+
+			if (random.nextInt(3) == 0) {
+				assertEquals(expected.remove(key), actual.remove(key));
+			} else {
+				assertEquals(expected.add(key), actual.add(key));
+			}
+		}
+
+		assertEquals(expected.size(), actual.size());
+		expected.forEach(key -> assertTrue(actual.contains(key)));
+
+		var visited = new HashSet<Long>();
+		actual.forEach(visited::add);
+		assertEquals(expected, visited);
+	}
+}
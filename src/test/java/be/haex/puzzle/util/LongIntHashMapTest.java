@@ -0,0 +1,27 @@
+package be.haex.puzzle.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongIntHashMapTest {
+
+	@Test
+	void storesAndOverwritesValues() {
+		var map = new LongIntHashMap(2);
+
+		for (var i = -500; i < 500; i++) {
+			map.put(Packed.of(i, -i), i * 2);
+		}
+		map.put(Packed.of(0, 0), 42);
+
+		assertEquals(1_000, map.size());
+		assertEquals(42, map.getOrDefault(Packed.of(0, 0), -1));
+		assertEquals(-998, map.getOrDefault(Packed.of(-499, 499), -1));
+		assertEquals(-1, map.getOrDefault(Packed.of(1, 1), -1));
+		assertTrue(map.containsKey(Packed.of(499, -499)));
+		assertFalse(map.containsKey(Packed.of(500, -500)));
+	}
+}